@@ -0,0 +1,65 @@
+package test.java.bench;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.java.pricing.BananaBudgetCalculator;
+import test.java.pricing.BatchPricer;
+
+//one op prices a batch of a million queries over ten years of start dates
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchPricerBenchmark {
+
+	private static final int QUERIES = 1_000_000;
+
+	private final int[] starts = new int[QUERIES];
+	private final int[] days = new int[QUERIES];
+	private final long[] costs = new long[QUERIES];
+	private final ForkJoinPool single = new ForkJoinPool(1);
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(1);
+		int first = (int)LocalDate.of(2015, 1, 1).toEpochDay();
+		for (int i = 0; i < QUERIES; i++) {
+			starts[i] = first + random.nextInt(3653);
+			days[i] = random.nextInt(1, 366);
+		}
+	}
+
+	@Benchmark
+	public long[] scalar() {
+		for (int i = 0; i < QUERIES; i++) {
+			costs[i] = BananaBudgetCalculator.totalCostCents(starts[i], days[i]);
+		}
+		return costs;
+	}
+
+	@Benchmark
+	public long[] batchOneThread() {
+		BatchPricer.price(starts, days, costs, single);
+		return costs;
+	}
+
+	@Benchmark
+	public long[] batch() {
+		BatchPricer.price(starts, days, costs);
+		return costs;
+	}
+}
@@ -0,0 +1,84 @@
+package test.java.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.PooledTransport;
+import test.java.pojo.Budget;
+import test.java.pojo.ErrorResponse;
+import test.java.server.BudgetStubServer;
+
+//full round trips against the loopback stub, so the numbers include the stub's own cost
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientBenchmark {
+
+	private BudgetStubServer server;
+	private Client client;
+	private PooledTransport legacyTransport;
+	private RestTemplate legacyTemplate;
+	private ObjectMapper objectMapper;
+	private String budgetUrl;
+	private String errorUrl;
+
+	@Setup
+	public void setUp() throws IOException {
+		server = BudgetStubServer.start();
+		client = new Client();
+		legacyTransport = new PooledTransport(new ClientConfig());
+		legacyTemplate = new RestTemplate(legacyTransport.getRequestFactory());
+		objectMapper = new ObjectMapper();
+		budgetUrl = String.format(server.getBaseUrl(), "02-10-2019", "20");
+		errorUrl = String.format(server.getBaseUrl(), "02-10-2019", "twenty");
+	}
+
+	@TearDown
+	public void tearDown() {
+		client.close();
+		legacyTransport.close();
+		server.close();
+	}
+
+	@Benchmark
+	public ResponseEntity<Budget> getBudget() {
+		return client.getBudget(budgetUrl);
+	}
+
+	@Benchmark
+	public ErrorResponse getError() {
+		return client.getError(errorUrl);
+	}
+
+	//the exception-driven decoding Client.getError used before it read error bodies from the stream
+	@Benchmark
+	public ErrorResponse getErrorViaException() throws IOException {
+		try {
+			legacyTemplate.getForEntity(errorUrl, ErrorResponse.class);
+			return null;
+		} catch (HttpClientErrorException e) {
+			ErrorResponse errorResponse = objectMapper.readValue(e.getResponseBodyAsString(), ErrorResponse.class);
+			errorResponse.setStatusCode(e.getStatusCode());
+			return errorResponse;
+		}
+	}
+}
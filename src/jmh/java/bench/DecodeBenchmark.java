@@ -0,0 +1,68 @@
+package test.java.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.java.pojo.Budget;
+import test.java.pojo.ErrorResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+	private static final String BASE_URL = "https://bananabudget.azurewebsites.net/?startDate=%s&numberOfDays=%s";
+
+	private ObjectMapper objectMapper;
+	private byte[] budgetJson;
+	private byte[] errorJson;
+	private Budget budget;
+
+	@Setup
+	public void setUp() throws IOException {
+		objectMapper = new ObjectMapper();
+		budgetJson = "{\"totalCost\":\"$35.25\"}".getBytes(StandardCharsets.UTF_8);
+		errorJson = "{\"error\":\"Invalid startDate\"}".getBytes(StandardCharsets.UTF_8);
+		budget = objectMapper.readValue(budgetJson, Budget.class);
+	}
+
+	@Benchmark
+	public Budget readBudget() throws IOException {
+		return objectMapper.readValue(budgetJson, Budget.class);
+	}
+
+	@Benchmark
+	public ErrorResponse readErrorResponse() throws IOException {
+		return objectMapper.readValue(errorJson, ErrorResponse.class);
+	}
+
+	@Benchmark
+	public BigDecimal totalCostValue() {
+		return budget.getTotalCostValue();
+	}
+
+	@Benchmark
+	public long totalCostCents() {
+		return budget.getTotalCost().getCents();
+	}
+
+	@Benchmark
+	public String formatUrl() {
+		return String.format(BASE_URL, "02-10-2019", "20");
+	}
+}
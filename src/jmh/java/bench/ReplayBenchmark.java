@@ -0,0 +1,82 @@
+package test.java.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.Query;
+import test.java.replay.ResponseRecorder;
+import test.java.replay.ResponseReplay;
+
+//a store of a million recorded queries, looked up directly and through a replaying Client
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+	private static final int RECORDS = 1_000_000;
+
+	private Path file;
+	private ResponseReplay replay;
+	private Client client;
+	private String[] keys;
+	private String[] urls;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		file = Files.createTempFile("replay-benchmark", ".bin");
+		keys = new String[RECORDS];
+		urls = new String[RECORDS];
+		String baseUrl = ClientConfig.DEFAULT_BASE_URL;
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			for (int i = 0; i < RECORDS; i++) {
+				urls[i] = Query.of(String.format("%02d/%02d/%04d", i % 12 + 1, i % 28 + 1, 2000 + i / 336 % 100),
+						i % 365 + 1).toUrl(baseUrl);
+				keys[i] = ResponseRecorder.keyOf(URI.create(urls[i]));
+				recorder.record(keys[i], 200, "application/json;charset=UTF-8",
+						("{\"totalCost\":\"$" + (i % 3000) / 100 + "." + String.format("%02d", i % 100) + "\"}").getBytes());
+			}
+		}
+		replay = new ResponseReplay(file);
+		ClientConfig config = new ClientConfig();
+		config.setReplayFile(file);
+		client = new Client(config);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		client.close();
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public void find(Blackhole blackhole) {
+		int record = replay.find(keys[ThreadLocalRandom.current().nextInt(RECORDS)]);
+		blackhole.consume(replay.body(record));
+	}
+
+	@Benchmark
+	public void clientGetBudget(Blackhole blackhole) {
+		blackhole.consume(client.getBudget(urls[ThreadLocalRandom.current().nextInt(RECORDS)]));
+	}
+}
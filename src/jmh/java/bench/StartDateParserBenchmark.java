@@ -0,0 +1,53 @@
+package test.java.bench;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import test.java.pricing.StartDateParser;
+
+//one op classifies every input below, a third of which are invalid
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartDateParserBenchmark {
+
+	private static final String[] INPUTS = {
+		"02/10/2019", "03/01/2019", "12/31/2020", "02/29/2020", "01/31/2019", "07/04/2021",
+		"02/29/2019", "13/01/2020", "01/one/2020"
+	};
+	private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MM/dd/uuuu")
+			.withResolverStyle(ResolverStyle.STRICT);
+
+	@Benchmark
+	public void startDateParser(Blackhole blackhole) {
+		for (String input : INPUTS) {
+			blackhole.consume(StartDateParser.parse(input));
+		}
+	}
+
+	@Benchmark
+	public void dateTimeFormatter(Blackhole blackhole) {
+		for (String input : INPUTS) {
+			try {
+				blackhole.consume(LocalDate.parse(input, FORMATTER));
+			} catch (DateTimeParseException e) {
+				blackhole.consume(e);
+			}
+		}
+	}
+}
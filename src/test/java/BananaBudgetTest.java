@@ -1,22 +1,35 @@
 package test.java;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
 import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.Clients;
 import test.java.pojo.Budget;
 import test.java.pojo.ErrorResponse;
+import test.java.pojo.Money;
+import test.java.server.BudgetStubServer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static test.java.perf.LatencyAssertions.assertWithin;
 
 public class BananaBudgetTest {
 
-	private static final String BASE_URL = "https://bananabudget.azurewebsites.net/?startDate=%s&numberOfDays=%s";
+	//run against the remote API with -Dbananabudget.baseUrl=https://bananabudget.azurewebsites.net/?startDate=%s&numberOfDays=%s
+	private static final String BASE_URL_PROPERTY = "bananabudget.baseUrl";
+
+	private static String BASE_URL;
+	private static BudgetStubServer server;
 
 	private static final String VALID_DATE = "02-10-2019";
 	private static final String VALID_NUM_DAYS = "20";
@@ -24,26 +37,70 @@ public class BananaBudgetTest {
 	private static final int MAX_NUM = 365;
 	private static final int MIN_NUM = 1;
 
-	private static final BigDecimal WEEKEND_COST = new BigDecimal("0.00");
-	private static final BigDecimal FIRST_WEEKDAY_COST = new BigDecimal("0.05");
-	private static final BigDecimal SECOND_WEEKDAY_COST = new BigDecimal("0.10");
-	private static final BigDecimal THIRD_WEEKDAY_COST = new BigDecimal("0.15");
-	private static final BigDecimal FOURTH_WEEKDAY_COST = new BigDecimal("0.20");
-	private static final BigDecimal REMAINING_WEEKDAY_COST = new BigDecimal("0.25");
-	private static final BigDecimal FIRST_WEEK_COST = new BigDecimal("0.25");
-	private static final BigDecimal SECOND_WEEK_COST = new BigDecimal("0.50");
-	private static final BigDecimal THIRD_WEEK_COST = new BigDecimal("0.75");
-	private static final BigDecimal FOURTH_WEEK_COST = new BigDecimal("1.00");
-	private static final BigDecimal THIRTY_ONE_DAYS_COST = new BigDecimal("3.25");
-	private static final BigDecimal THIRTY_TWO_DAYS_COST = new BigDecimal("3.30");
-	private static final BigDecimal ONE_YEAR_COST = new BigDecimal("35.25");
-	private static final BigDecimal LEAP_YEAR_COST = new BigDecimal("35.50");
+	private static final Money WEEKEND_COST = Money.parse("0.00");
+	private static final Money FIRST_WEEKDAY_COST = Money.parse("0.05");
+	private static final Money SECOND_WEEKDAY_COST = Money.parse("0.10");
+	private static final Money THIRD_WEEKDAY_COST = Money.parse("0.15");
+	private static final Money FOURTH_WEEKDAY_COST = Money.parse("0.20");
+	private static final Money REMAINING_WEEKDAY_COST = Money.parse("0.25");
+	private static final Money FIRST_WEEK_COST = Money.parse("0.25");
+	private static final Money SECOND_WEEK_COST = Money.parse("0.50");
+	private static final Money THIRD_WEEK_COST = Money.parse("0.75");
+	private static final Money FOURTH_WEEK_COST = Money.parse("1.00");
+	private static final Money THIRTY_ONE_DAYS_COST = Money.parse("3.25");
+	private static final Money THIRTY_TWO_DAYS_COST = Money.parse("3.30");
+	private static final Money ONE_YEAR_COST = Money.parse("35.25");
+	private static final Money LEAP_YEAR_COST = Money.parse("35.50");
 
 	private static final String INVALID_START_DATE = "Invalid startDate";
 	private static final String INVALID_NUM_DAYS = "Invalid numberOfDays";
 	private static final String MUST_PROVIDE_PARAMS = "Must provide startDate and numberOfDays";
 
-	private Client client = new Client();
+	//-Dbananabudget.recordFile=run.bin saves every response, -Dbananabudget.replayFile=run.bin answers from them offline
+	private static final String RECORD_FILE_PROPERTY = "bananabudget.recordFile";
+	private static final String REPLAY_FILE_PROPERTY = "bananabudget.replayFile";
+
+	//a single call slower than this fails, -Dbananabudget.callSloMillis=... to change it
+	private static final Duration CALL_SLO = Duration.ofMillis(Long.getLong("bananabudget.callSloMillis", 2000));
+
+	//shared with every other class asking with the same configuration, JUnit's per-method instances all reuse it
+	private static final Client client = Clients.shared(BananaBudgetTest::clientConfig);
+
+	private static ClientConfig clientConfig() {
+		ClientConfig config = new ClientConfig();
+		if (System.getProperty(RECORD_FILE_PROPERTY) != null) {
+			config.setRecordFile(Paths.get(System.getProperty(RECORD_FILE_PROPERTY)));
+		}
+		if (System.getProperty(REPLAY_FILE_PROPERTY) != null) {
+			config.setReplayFile(Paths.get(System.getProperty(REPLAY_FILE_PROPERTY)));
+		}
+		return config;
+	}
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		BASE_URL = System.getProperty(BASE_URL_PROPERTY);
+		if (BASE_URL == null && System.getProperty(REPLAY_FILE_PROPERTY) != null) {
+			//replayed answers are keyed by path and query, so the host is never contacted
+			BASE_URL = ClientConfig.DEFAULT_BASE_URL;
+		} else if (BASE_URL == null) {
+			server = BudgetStubServer.start();
+			BASE_URL = server.getBaseUrl();
+		}
+		//the cold start lands under client.warmup.coldstart in the metrics, Clients.getWarmUpReport has the rest
+		Clients.warmUp(client, BASE_URL);
+	}
+
+	@AfterAll
+	public static void stopServer() throws IOException {
+		String metricsFile = System.getProperty("bananabudget.metricsFile");
+		if (metricsFile != null) {
+			client.getMetrics().writeJson(Paths.get(metricsFile));
+		}
+		if (server != null) {
+			server.close();
+		}
+	}
 
 	@BeforeEach
 	public void setUp() throws Exception {
@@ -67,12 +124,12 @@ public class BananaBudgetTest {
 		assertErrorHelper(response, HttpStatus.BAD_REQUEST, INVALID_NUM_DAYS);
 	}
 
-	private void assertCostEquals(ResponseEntity<Budget> response, BigDecimal cost) {
+	private void assertCostEquals(ResponseEntity<Budget> response, Money cost) {
 		assertNotNull(response);
 		assertEquals(response.getHeaders().getContentType(), MediaType.APPLICATION_JSON_UTF8);
 		assertEquals(response.getStatusCode(), HttpStatus.OK);
 		Budget budget = (Budget)response.getBody();
-		assertEquals(budget.getTotalCostValue(), cost);
+		assertEquals(budget.getTotalCost(), cost);
 	}
 
 	private void assertErrorHelper(ErrorResponse response, HttpStatus statusCode, String error) {
@@ -81,6 +138,13 @@ public class BananaBudgetTest {
 		assertEquals(response.getError(), error);
 	}
 
+	@Test
+	public void calculateBudget_SingleCall_WithinSlo() {
+		ResponseEntity<Budget> response = assertWithin(CALL_SLO,
+				() -> client.getBudget(String.format(BASE_URL, VALID_DATE, VALID_NUM_DAYS)));
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+	}
+
 	@Test
 	public void calculateBudget_HyphenDelimiterInDate_OK() {
 		String date = "02-10-2019";
@@ -401,7 +465,7 @@ public class BananaBudgetTest {
 		assertEquals(response.getStatusCode(), HttpStatus.OK);
 	}
 
-	//for jan, mar, may, etc.
+	//for jan, mar, may, jul, aug, oct and dec
 	@Test
 	public void calculateBudget_31DaysInMonth_OK() {
 		String date = "01/31/2019";
@@ -416,10 +480,13 @@ public class BananaBudgetTest {
 		date = "07/31/2019";
 		response = client.getBudget(String.format(BASE_URL, date, VALID_NUM_DAYS));
 		assertEquals(response.getStatusCode(), HttpStatus.OK);
-		date = "09/31/2019";
+		date = "08/31/2019";
 		response = client.getBudget(String.format(BASE_URL, date, VALID_NUM_DAYS));
 		assertEquals(response.getStatusCode(), HttpStatus.OK);
-		date = "011/31/2019";
+		date = "10/31/2019";
+		response = client.getBudget(String.format(BASE_URL, date, VALID_NUM_DAYS));
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		date = "12/31/2019";
 		response = client.getBudget(String.format(BASE_URL, date, VALID_NUM_DAYS));
 		assertEquals(response.getStatusCode(), HttpStatus.OK);
 	}
@@ -467,8 +534,7 @@ public class BananaBudgetTest {
 		assertEquals(response.getStatusCode(), HttpStatus.OK);
 	}
 
-	//Fail
-	//for apr, jun, aug, etc.
+	//for apr, jun, sep and nov
 	@Test
 	public void calculateBudget_31DaysInMonth_InvalidStartDate() {
 		String date = "04/31/2019";
@@ -477,13 +543,10 @@ public class BananaBudgetTest {
 		date = "06/31/2019";
 		response = client.getError(String.format(BASE_URL, date, VALID_NUM_DAYS));
 		assertInvalidStartDate(response);
-		date = "08/31/2019";
-		response = client.getError(String.format(BASE_URL, date, VALID_NUM_DAYS));
-		assertInvalidStartDate(response);
-		date = "10/31/2019";
+		date = "09/31/2019";
 		response = client.getError(String.format(BASE_URL, date, VALID_NUM_DAYS));
 		assertInvalidStartDate(response);
-		date = "12/31/2019";
+		date = "11/31/2019";
 		response = client.getError(String.format(BASE_URL, date, VALID_NUM_DAYS));
 		assertInvalidStartDate(response);
 	}
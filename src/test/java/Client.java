@@ -1,45 +1,494 @@
 package test.java.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.Closeable;
 import java.io.IOException;
-import org.springframework.web.client.HttpClientErrorException;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
+import test.java.metrics.MetricsRegistry;
 import test.java.pojo.Budget;
 import test.java.pojo.ErrorResponse;
+import test.java.replay.ResponseRecorder;
+import test.java.replay.ResponseReplay;
 
-public class Client {
-	RestTemplate restTemplate;
-	ObjectMapper objectMapper;
+//safe to share between threads: RestTemplate, ObjectMapper and the connection pool are all thread-safe once built
+public class Client implements Closeable {
+	private static final String WARM_UP_URL = "http://warm-up.invalid/";
+	private static final String WARM_UP_CONTENT_TYPE = "application/json;charset=UTF-8";
+	private static final byte[] WARM_UP_BUDGET = "{\"totalCost\":\"$1.25\"}".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] WARM_UP_ERROR = "{\"error\":\"Invalid startDate\"}".getBytes(StandardCharsets.UTF_8);
+
+	private static final ResponseErrorHandler NO_ERRORS = new DefaultResponseErrorHandler() {
+		@Override
+		public boolean hasError(ClientHttpResponse response) {
+			return false;
+		}
+	};
+
+	private final PooledTransport transport;
+	private final AsyncExecutor asyncExecutor;
+	private final RestTemplate restTemplate;
+	private final RestTemplate errorTemplate;
+	private final ObjectMapper objectMapper;
+	private final ObjectReader errorReader;
+	private final String baseUrl;
+	private final int fanOutConcurrency;
+	private final ResponseCache cache;
+	private final SingleFlight singleFlight;
+	private final boolean coalescing;
+	private final MetricsRegistry metricsRegistry;
+	private final RequestMetrics requestMetrics;
+	private final Hedger hedger;
+	private final ResponseRecorder recorder;
+	private final AdaptiveLimiter limiter;
+	private final CircuitBreaker circuitBreaker;
+	private final long callTimeoutMillis;
+	private final ScheduledThreadPoolExecutor deadlineTimer;
+	private final long constructionNanos;
 
 	public Client() {
-		restTemplate = new RestTemplate();
-		objectMapper = new ObjectMapper();
+		this(new ClientConfig());
 	}
 
-	public ErrorResponse getError(String url) {
-		ErrorResponse errorResponse = null;
-		String responseBody = null;
-		HttpStatus statusCode = null;
+	public Client(ClientConfig config) {
+		long start = System.nanoTime();
+		if (config.getRecordFile() != null && config.getReplayFile() != null) {
+			throw new IllegalArgumentException("A Client can record or replay, not both");
+		}
+		transport = new PooledTransport(config);
+		asyncExecutor = AsyncExecutor.create(config.getAsyncConcurrency());
+		baseUrl = config.getBaseUrl();
+		fanOutConcurrency = config.getFanOutConcurrency();
+		cache = config.getCacheMaxEntries() > 0
+				? new ResponseCache(config.getCacheMaxEntries(), config.getCacheTtlMillis()) : null;
+		singleFlight = new SingleFlight();
+		coalescing = config.isCoalescing();
+		metricsRegistry = config.getMetricsRegistry() != null ? config.getMetricsRegistry() : new MetricsRegistry();
+		requestMetrics = new RequestMetrics(metricsRegistry);
+		hedger = config.isHedging() ? new Hedger(config.getHedgeDelayPercentile(), config.getHedgeMinDelayMillis(),
+				config.getHedgeMaxExtraLoad(), metricsRegistry) : null;
+		limiter = config.isAdaptiveConcurrency() ? new AdaptiveLimiter(config.getInitialConcurrencyLimit(),
+				config.getMaxConcurrencyLimit(), config.getLatencyTolerance(), config.getConnectionRequestTimeoutMillis()) : null;
+		circuitBreaker = config.isCircuitBreaker() ? new CircuitBreaker(config.getCircuitFailureThreshold(),
+				config.getCircuitSlowCallMillis(), config.getCircuitOpenMillis(), metricsRegistry,
+				config.getCircuitListener()) : null;
+		callTimeoutMillis = config.getCallTimeoutMillis();
+		if (callTimeoutMillis > 0) {
+			deadlineTimer = new ScheduledThreadPoolExecutor(1, r -> {
+				Thread thread = new Thread(r, "budget-deadline-timer");
+				thread.setDaemon(true);
+				return thread;
+			});
+			deadlineTimer.setRemoveOnCancelPolicy(true);
+		} else {
+			deadlineTimer = null;
+		}
+		//getForEntity builds its extractor through this hook, wrapping it times the body decode
+		restTemplate = new RestTemplate(transport.getRequestFactory()) {
+			@Override
+			protected <T> ResponseExtractor<ResponseEntity<T>> responseEntityExtractor(Type responseType) {
+				return RequestMetrics.timedDecode(super.responseEntityExtractor(responseType));
+			}
+		};
+		errorTemplate = new RestTemplate(transport.getRequestFactory());
+		errorTemplate.setErrorHandler(NO_ERRORS);
+		List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>();
+		interceptors.add(requestMetrics.exchangeInterceptor());
 		try {
-			restTemplate.getForEntity(url, ErrorResponse.class);
-		} catch (HttpClientErrorException e) {
-			responseBody = e.getResponseBodyAsString(); 
-			statusCode = e.getStatusCode();
+			recorder = config.getRecordFile() != null ? new ResponseRecorder(config.getRecordFile()) : null;
+			if (recorder != null) {
+				interceptors.add(new RecordingInterceptor(recorder));
+			}
+			if (config.getReplayFile() != null) {
+				interceptors.add(new ReplayInterceptor(new ResponseReplay(config.getReplayFile())));
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
+		restTemplate.setInterceptors(interceptors);
+		errorTemplate.setInterceptors(interceptors);
+		objectMapper = new ObjectMapper();
+		errorReader = objectMapper.readerFor(ErrorResponse.class);
+		constructionNanos = System.nanoTime() - start;
+	}
+
+	/**
+	 * Decodes canned bodies through the same converters and readers as real calls until Jackson has
+	 * resolved its deserializers and the JIT has compiled the decode path, then makes one call and
+	 * connections concurrent calls to baseUrl to open pooled connections. These calls, and the stages
+	 * of the returned report, are recorded under client.warmup.* instead of the steady-state metrics.
+	 */
+	public WarmUpReport warmUp(String baseUrl, int connections, int decodeIterations) {
+		long start = System.nanoTime();
+		RestTemplate canned = new RestTemplate(restTemplate.getMessageConverters());
+		canned.setRequestFactory(transport.getRequestFactory());
+		canned.setInterceptors(Collections.singletonList((request, body, execution) ->
+				new StoredResponse(200, WARM_UP_CONTENT_TYPE, ByteBuffer.wrap(WARM_UP_BUDGET))));
 		try {
-			if (responseBody != null) {
-				errorResponse = objectMapper.readValue(responseBody, ErrorResponse.class); 
-				errorResponse.setStatusCode(statusCode);
+			for (int i = 0; i < decodeIterations; i++) {
+				canned.getForEntity(WARM_UP_URL, Budget.class);
+				readError(new StoredResponse(400, WARM_UP_CONTENT_TYPE, ByteBuffer.wrap(WARM_UP_ERROR)));
 			}
 		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		long decodeNanos = System.nanoTime() - start;
+
+		long createdBefore = transport.getStats().getCreated();
+		String url = Query.of("01/01/2019", 1).toUrl(baseUrl);
+		int failures = 0;
+		long firstStart = System.nanoTime();
+		if (!warmUpCall(url)) {
+			failures++;
+		}
+		long firstNanos = System.nanoTime() - firstStart;
+		List<CompletableFuture<Long>> calls = new ArrayList<>(connections);
+		for (int i = 0; i < connections; i++) {
+			calls.add(asyncExecutor.submit(() -> {
+				long callStart = System.nanoTime();
+				return warmUpCall(url) ? System.nanoTime() - callStart : -1L;
+			}));
+		}
+		List<Long> latencies = new ArrayList<>(connections);
+		for (CompletableFuture<Long> call : calls) {
+			long latency = call.join();
+			if (latency < 0) {
+				failures++;
+			} else {
+				latencies.add(latency);
+			}
+		}
+		Collections.sort(latencies);
+		long warmNanos = latencies.isEmpty() ? 0 : latencies.get(latencies.size() / 2);
+		metricsRegistry.recordNanos(constructionNanos, RequestMetrics.WARM_UP_COLD_START, "stage", "construction");
+		metricsRegistry.recordNanos(decodeNanos, RequestMetrics.WARM_UP_COLD_START, "stage", "decode");
+		metricsRegistry.recordNanos(firstNanos, RequestMetrics.WARM_UP_COLD_START, "stage", "first_request");
+		if (warmNanos > 0) {
+			metricsRegistry.recordNanos(warmNanos, RequestMetrics.WARM_UP_COLD_START, "stage", "warm_request");
+		}
+		return new WarmUpReport(constructionNanos, decodeNanos, firstNanos, warmNanos,
+				transport.getStats().getCreated() - createdBefore, failures);
+	}
 
+	//straight to the network: warm-up answers must not land in the cache or skew the hedge delay
+	private boolean warmUpCall(String url) {
+		try {
+			RequestMetrics.warmingUp(() -> fetchBudget(url));
+			return true;
+		} catch (RestClientException e) {
+			return false;
 		}
+	}
+
+	public ErrorResponse getError(String url) {
+		return lookup("error:", url, () -> hedged(() -> fetchError(url)));
+	}
+
+	//decodes straight from the response stream, error statuses are answers here rather than exceptions
+	private ErrorResponse fetchError(String url) {
+		boolean probe = acquireCircuit();
+		long slot = acquireSlot(probe);
+		Deadline deadline = startDeadline();
+		CallTiming timing = CallTiming.start();
+		int status = 0;
+		try {
+			ErrorResponse errorResponse = errorTemplate.execute(url, HttpMethod.GET, null,
+					RequestMetrics.timedDecode(this::readError));
+			status = errorResponse.getStatusCode().value();
+			return errorResponse;
+		} catch (RestClientResponseException e) {
+			status = e.getRawStatusCode();
+			throw e;
+		} catch (ResourceAccessException e) {
+			throw deadlineExceeded(url, deadline, e);
+		} finally {
+			timing.finish();
+			requestMetrics.record("error", status, timing);
+			releaseSlot(slot, status);
+			releaseCircuit(probe, status, timing.totalNanos);
+			if (deadline != null) {
+				deadline.finish();
+			}
+		}
+	}
+
+	//an error status without a body gets an empty ErrorResponse, a body that is not an error object throws
+	private ErrorResponse readError(ClientHttpResponse response) throws IOException {
+		HttpStatus statusCode = response.getStatusCode();
+		ErrorResponse errorResponse = null;
+		if (statusCode.isError()) {
+			try (PushbackInputStream body = new PushbackInputStream(response.getBody())) {
+				int first = body.read();
+				if (first != -1) {
+					body.unread(first);
+					errorResponse = errorReader.readValue(body);
+				}
+			} catch (JsonProcessingException e) {
+				throw new RestClientResponseException("Malformed " + statusCode.value() + " error body: "
+						+ e.getOriginalMessage(), statusCode.value(), response.getStatusText(), response.getHeaders(), null, null);
+			}
+		}
+		if (errorResponse == null) {
+			errorResponse = new ErrorResponse();
+		}
+		errorResponse.setStatusCode(statusCode);
 		return errorResponse;
 	}
 
 	public ResponseEntity<Budget> getBudget(String url) {
-		return restTemplate.getForEntity(url, Budget.class);
+		return lookup("budget:", url, () -> hedged(() -> fetchBudget(url)));
+	}
+
+	//cache first, then an identical call already in flight, then the network
+	private <T> T lookup(String kind, String url, Supplier<T> fetch) {
+		if (cache == null && !coalescing) {
+			return fetch.get();
+		}
+		String key = kind + QueryKey.normalize(url);
+		Supplier<T> call = coalescing ? () -> singleFlight.execute(key, fetch) : fetch;
+		return cache == null ? call.get() : cache.get(key, call);
+	}
+
+	private <T> T hedged(Supplier<T> fetch) {
+		return hedger == null ? fetch.get() : hedger.call(fetch);
+	}
+
+	private ResponseEntity<Budget> fetchBudget(String url) {
+		boolean probe = acquireCircuit();
+		long slot = acquireSlot(probe);
+		Deadline deadline = startDeadline();
+		CallTiming timing = CallTiming.start();
+		int status = 0;
+		try {
+			ResponseEntity<Budget> response = restTemplate.getForEntity(url, Budget.class);
+			status = response.getStatusCodeValue();
+			return response;
+		} catch (RestClientResponseException e) {
+			status = e.getRawStatusCode();
+			throw e;
+		} catch (ResourceAccessException e) {
+			throw deadlineExceeded(url, deadline, e);
+		} finally {
+			timing.finish();
+			requestMetrics.record("budget", status, timing);
+			releaseSlot(slot, status);
+			releaseCircuit(probe, status, timing.totalNanos);
+			if (deadline != null) {
+				deadline.finish();
+			}
+		}
+	}
+
+	//throws CircuitOpenException rather than sending a call the breaker would refuse
+	private boolean acquireCircuit() {
+		return circuitBreaker != null && circuitBreaker.acquire();
+	}
+
+	//a call given up before it was sent says nothing about the endpoint
+	private void abandonCircuit(boolean probe) {
+		if (circuitBreaker != null) {
+			circuitBreaker.release(probe, true, false, 0);
+		}
+	}
+
+	private void releaseCircuit(boolean probe, int status, long latencyNanos) {
+		if (circuitBreaker == null) {
+			return;
+		}
+		boolean cancelled = status == 0 && Cancellation.isCurrentCancelled();
+		circuitBreaker.release(probe, cancelled, status == 0 || status == 429 || status >= 500, latencyNanos);
+	}
+
+	private Deadline startDeadline() {
+		return deadlineTimer == null ? null : Deadline.start(callTimeoutMillis, deadlineTimer);
+	}
+
+	//an exchange aborted by its deadline surfaces as an I/O error, name the cause
+	private static ResourceAccessException deadlineExceeded(String url, Deadline deadline, ResourceAccessException e) {
+		if (deadline == null || !deadline.isExpired() || e instanceof DeadlineExceededException) {
+			return e;
+		}
+		return new DeadlineExceededException("GET " + url + " exceeded its " + deadline.getTimeoutMillis() + "ms deadline",
+				e.getCause() instanceof IOException ? (IOException)e.getCause() : null);
+	}
+
+	private long acquireSlot(boolean probe) {
+		if (limiter == null) {
+			return 0;
+		}
+		boolean acquired;
+		try {
+			acquired = limiter.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			abandonCircuit(probe);
+			throw new ResourceAccessException("Interrupted waiting for a concurrency slot");
+		}
+		if (!acquired) {
+			abandonCircuit(probe);
+			throw new ResourceAccessException("Timed out waiting for a concurrency slot, " + limiter.getStats());
+		}
+		return System.nanoTime();
+	}
+
+	//status 0 means no response; 429 and 5xx tell the limiter the server is overloaded
+	private void releaseSlot(long acquiredAt, int status) {
+		if (limiter == null) {
+			return;
+		}
+		boolean cancelled = status == 0 && Cancellation.isCurrentCancelled();
+		boolean overloaded = !cancelled && (status == 0 || status == 429 || status >= 500);
+		limiter.release(acquiredAt, !cancelled, overloaded);
+	}
+
+	public CompletableFuture<ErrorResponse> getErrorAsync(String url) {
+		return asyncExecutor.submit(() -> getError(url));
+	}
+
+	public CompletableFuture<ResponseEntity<Budget>> getBudgetAsync(String url) {
+		return asyncExecutor.submit(() -> getBudget(url));
+	}
+
+	public List<CompletableFuture<ResponseEntity<Budget>>> getBudgets(Collection<Query> queries) {
+		return getBudgets(queries, fanOutConcurrency);
+	}
+
+	//futures are returned in query order, at most maxConcurrency queries are in flight at once
+	public List<CompletableFuture<ResponseEntity<Budget>>> getBudgets(Collection<Query> queries, int maxConcurrency) {
+		List<String> urls = new ArrayList<>(queries.size());
+		List<CompletableFuture<ResponseEntity<Budget>>> results = new ArrayList<>(queries.size());
+		for (Query query : queries) {
+			urls.add(query.toUrl(baseUrl));
+			results.add(new CompletableFuture<>());
+		}
+		AtomicInteger next = new AtomicInteger();
+		int lanes = Math.min(Math.max(maxConcurrency, 1), urls.size());
+		for (int lane = 0; lane < lanes; lane++) {
+			asyncExecutor.execute(() -> {
+				int i;
+				while ((i = next.getAndIncrement()) < urls.size()) {
+					try {
+						results.get(i).complete(getBudget(urls.get(i)));
+					} catch (RuntimeException e) {
+						results.get(i).completeExceptionally(e);
+					}
+				}
+			});
+		}
+		return results;
+	}
+
+	//identical queries share one future, each distinct query is sent once
+	public List<CompletableFuture<ResponseEntity<Budget>>> getBudgetsDeduplicated(Collection<Query> queries) {
+		Map<String, Integer> slots = new HashMap<>();
+		List<Query> unique = new ArrayList<>();
+		int[] slotOf = new int[queries.size()];
+		int i = 0;
+		for (Query query : queries) {
+			Integer slot = slots.putIfAbsent(QueryKey.normalize(query.toUrl(baseUrl)), unique.size());
+			if (slot == null) {
+				slot = unique.size();
+				unique.add(query);
+			}
+			slotOf[i++] = slot;
+		}
+		singleFlight.recordDeduplicated(queries.size() - unique.size());
+		if (!coalescing) {
+			singleFlight.recordUpstream(unique.size());
+		}
+		List<CompletableFuture<ResponseEntity<Budget>>> uniqueResults = getBudgets(unique);
+		List<CompletableFuture<ResponseEntity<Budget>>> results = new ArrayList<>(slotOf.length);
+		for (int slot : slotOf) {
+			results.add(uniqueResults.get(slot));
+		}
+		return results;
+	}
+
+	public CoalescingStats getCoalescingStats() {
+		return singleFlight.getStats();
+	}
+
+	public CacheStats getCacheStats() {
+		return cache == null ? new CacheStats(0, 0, 0, 0) : cache.getStats();
+	}
+
+	public void clearCache() {
+		if (cache != null) {
+			cache.clear();
+		}
+	}
+
+	public LimiterStats getLimiterStats() {
+		return limiter == null ? new LimiterStats(0, 0, 0, 0, 0) : limiter.getStats();
+	}
+
+	public CircuitStats getCircuitStats() {
+		return circuitBreaker == null ? new CircuitStats(CircuitState.CLOSED, 0, 0, 0) : circuitBreaker.getStats();
+	}
+
+	public HedgingStats getHedgingStats() {
+		return hedger == null ? new HedgingStats(0, 0, 0, 0) : hedger.getStats();
+	}
+
+	public MetricsRegistry getMetrics() {
+		return metricsRegistry;
+	}
+
+	public TransportStats getTransportStats() {
+		return transport.getStats();
+	}
+
+	/**
+	 * @throws UncheckedIOException when the response recorder could not be closed
+	 */
+	@Override
+	public void close() {
+		if (hedger != null) {
+			hedger.close();
+		}
+		IOException recorderFailure = null;
+		if (recorder != null) {
+			try {
+				recorder.close();
+			} catch (IOException e) {
+				recorderFailure = e;
+			}
+		}
+		if (deadlineTimer != null) {
+			deadlineTimer.shutdownNow();
+		}
+		asyncExecutor.close();
+		transport.close();
+		//everything else is closed first so a full disk does not leak the pool
+		if (recorderFailure != null) {
+			throw new UncheckedIOException("Closing the response recorder failed", recorderFailure);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package test.java.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD limit on the calls a {@link Client} has in flight. While the limit is in use, each good
+ * answer adds 1/limit to it, about one more slot per round trip. A failure, an overload status or a
+ * response slower than latencyTolerance times the recent minimum latency multiplies it by 0.9,
+ * once per round trip: calls that started before the last decrease do not decrease it again.
+ */
+class AdaptiveLimiter {
+	private static final int MIN_LIMIT = 1;
+	private static final double BACKOFF_RATIO = 0.9;
+	//the baseline is the minimum latency over the current and the previous window of samples
+	private static final int BASELINE_WINDOW = 250;
+
+	private final int maxLimit;
+	private final double latencyTolerance;
+	private final long queueTimeoutNanos;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition available = lock.newCondition();
+
+	private double limit;
+	private int inFlight;
+	private int waiting;
+	private long lastDecreaseNanos = Long.MIN_VALUE;
+	private long previousWindowMin = Long.MAX_VALUE;
+	private long windowMin = Long.MAX_VALUE;
+	private int windowSamples;
+	private long overloads;
+	private long timeouts;
+
+	AdaptiveLimiter(int initialLimit, int maxLimit, double latencyTolerance, long queueTimeoutMillis) {
+		this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, maxLimit));
+		this.maxLimit = maxLimit;
+		this.latencyTolerance = latencyTolerance;
+		this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+	}
+
+	/**
+	 * Waits for a free slot. A caller that gets one reads System.nanoTime() next and hands that
+	 * to {@link #release} with the outcome of its call.
+	 * @return whether a slot was taken, false after the queue timeout
+	 */
+	boolean acquire() throws InterruptedException {
+		lock.lock();
+		try {
+			long remaining = queueTimeoutNanos;
+			waiting++;
+			try {
+				while (inFlight >= (int)limit) {
+					if (remaining <= 0) {
+						timeouts++;
+						return false;
+					}
+					remaining = available.awaitNanos(remaining);
+				}
+			} finally {
+				waiting--;
+			}
+			inFlight++;
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	//acquiredAt is the System.nanoTime() read after acquire; overloaded: the call failed or the server
+	//refused it, a cancelled call releases with neither signal
+	void release(long acquiredAt, boolean answered, boolean overloaded) {
+		long now = System.nanoTime();
+		lock.lock();
+		try {
+			int usable = (int)limit;
+			boolean saturated = inFlight >= usable / 2;
+			inFlight--;
+			if (overloaded) {
+				overloads++;
+				decrease(acquiredAt, now);
+			} else if (answered) {
+				long latency = now - acquiredAt;
+				long baseline = recordLatency(latency);
+				if (latency > baseline * latencyTolerance) {
+					decrease(acquiredAt, now);
+				} else if (saturated) {
+					limit = Math.min(maxLimit, limit + 1 / limit);
+				}
+			}
+			if ((int)limit > usable) {
+				available.signalAll();
+			} else {
+				available.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void decrease(long acquiredAt, long now) {
+		if (acquiredAt > lastDecreaseNanos) {
+			limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+			lastDecreaseNanos = now;
+		}
+	}
+
+	private long recordLatency(long latency) {
+		windowMin = Math.min(windowMin, latency);
+		if (++windowSamples == BASELINE_WINDOW) {
+			previousWindowMin = windowMin;
+			windowMin = Long.MAX_VALUE;
+			windowSamples = 0;
+		}
+		return Math.min(previousWindowMin, windowMin);
+	}
+
+	LimiterStats getStats() {
+		lock.lock();
+		try {
+			return new LimiterStats((int)limit, inFlight, waiting, overloads, timeouts);
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.web.client.RestClientException;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock(TimingLock.NAME)
+public class AdaptiveLimiterTest {
+
+	//the latency rule is off in the unit tests, nanosecond round trips make any pause look like congestion
+	@Test
+	public void release_SaturatedSuccesses_LimitGrows() throws InterruptedException {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(2, 50, Double.POSITIVE_INFINITY, 1000);
+		for (int round = 0; round < 100; round++) {
+			int limit = limiter.getStats().getLimit();
+			long[] slots = new long[limit];
+			for (int i = 0; i < limit; i++) {
+				slots[i] = acquire(limiter);
+			}
+			for (long slot : slots) {
+				limiter.release(slot, true, false);
+			}
+		}
+		//one more slot per round trip at full use
+		assertTrue(limiter.getStats().getLimit() >= 50, limiter.getStats().toString());
+	}
+
+	@Test
+	public void release_UnusedLimit_DoesNotGrow() throws InterruptedException {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 50, Double.POSITIVE_INFINITY, 1000);
+		for (int i = 0; i < 1000; i++) {
+			limiter.release(acquire(limiter), true, false);
+		}
+		assertEquals(limiter.getStats().getLimit(), 10);
+	}
+
+	@Test
+	public void release_OverloadedRoundTrip_DecreasesOnce() throws InterruptedException {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 50, Double.POSITIVE_INFINITY, 1000);
+		long[] slots = new long[5];
+		for (int i = 0; i < slots.length; i++) {
+			slots[i] = acquire(limiter);
+		}
+		for (long slot : slots) {
+			limiter.release(slot, false, true);
+		}
+		assertEquals(limiter.getStats().getLimit(), 9);
+		assertEquals(limiter.getStats().getOverloads(), 5L);
+		limiter.release(acquire(limiter), false, true);
+		assertEquals(limiter.getStats().getLimit(), 8);
+	}
+
+	@Test
+	public void release_SlowAnswer_Decreases() throws InterruptedException {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 50, 2, 1000);
+		//answers that took 1ms then 50ms, the second is far past twice the baseline
+		limiter.release(acquire(limiter) - 1_000_000, true, false);
+		limiter.release(acquire(limiter) - 50_000_000, true, false);
+		assertEquals(limiter.getStats().getLimit(), 9);
+	}
+
+	@Test
+	public void acquire_AtLimit_QueuesThenTimesOut() throws Exception {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(1, 1, Double.POSITIVE_INFINITY, 200);
+		long slot = acquire(limiter);
+		CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+			try {
+				return limiter.acquire();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		long deadline = System.currentTimeMillis() + 1000;
+		while (limiter.getStats().getQueueDepth() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(limiter.getStats().getQueueDepth(), 1);
+		assertFalse(waiter.get());
+		assertEquals(limiter.getStats().getTimeouts(), 1L);
+		limiter.release(slot, true, false);
+		assertEquals(limiter.getStats().getInFlight(), 0);
+	}
+
+	@Test
+	public void client_StubWithCapacity_LimitTracksCapacity() throws IOException, InterruptedException {
+		int capacity = 8;
+		try (BudgetStubServer server = BudgetStubServer.start(0, 32)) {
+			server.setLatencyMillis(20);
+			server.setCapacity(capacity);
+			ClientConfig config = new ClientConfig();
+			config.setBaseUrl(server.getBaseUrl());
+			config.setMaxTotalConnections(32);
+			config.setMaxConnectionsPerRoute(32);
+			config.setAdaptiveConcurrency(true);
+			config.setInitialConcurrencyLimit(2);
+			config.setMaxConcurrencyLimit(32);
+			try (Client client = new Client(config)) {
+				AtomicLong answered = new AtomicLong();
+				AtomicLong refused = new AtomicLong();
+				long deadline = System.currentTimeMillis() + 2000;
+				List<Thread> workers = new ArrayList<>();
+				for (int t = 0; t < 24; t++) {
+					Thread worker = new Thread(() -> {
+						while (System.currentTimeMillis() < deadline) {
+							try {
+								client.getBudget(Query.of("01/01/2019", 30).toUrl(server.getBaseUrl()));
+								answered.incrementAndGet();
+							} catch (RestClientException e) {
+								refused.incrementAndGet();
+							}
+						}
+					});
+					worker.start();
+					workers.add(worker);
+				}
+				for (Thread worker : workers) {
+					worker.join();
+				}
+				LimiterStats stats = client.getLimiterStats();
+				String report = stats + ", answered=" + answered + ", refused=" + refused;
+				assertTrue(stats.getLimit() >= capacity / 2 && stats.getLimit() <= capacity * 2, report);
+				assertTrue(refused.get() * 5 < answered.get(), report);
+			}
+		}
+	}
+
+	//takes a slot the way Client does, the time it was taken goes back to release
+	private static long acquire(AdaptiveLimiter limiter) throws InterruptedException {
+		assertTrue(limiter.acquire(), limiter.getStats().toString());
+		return System.nanoTime();
+	}
+}
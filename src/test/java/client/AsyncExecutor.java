@@ -0,0 +1,87 @@
+package test.java.client;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking client calls off the caller thread, on virtual threads when the runtime has them.
+ */
+class AsyncExecutor implements Closeable {
+	private final ExecutorService executor;
+	private final Semaphore permits;
+	private final boolean virtual;
+
+	private AsyncExecutor(ExecutorService executor, int maxConcurrency, boolean virtual) {
+		this.executor = executor;
+		this.permits = new Semaphore(maxConcurrency);
+		this.virtual = virtual;
+	}
+
+	static AsyncExecutor create(int maxConcurrency) {
+		ExecutorService virtualExecutor = newVirtualThreadExecutor();
+		if (virtualExecutor != null) {
+			return new AsyncExecutor(virtualExecutor, maxConcurrency, true);
+		}
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor platformExecutor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+				60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+					Thread thread = new Thread(r, "budget-client-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		platformExecutor.allowCoreThreadTimeOut(true);
+		return new AsyncExecutor(platformExecutor, maxConcurrency, false);
+	}
+
+	//Executors.newVirtualThreadPerTaskExecutor only exists on Java 21+
+	private static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService)factory.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	boolean isVirtual() {
+		return virtual;
+	}
+
+	<T> CompletableFuture<T> submit(Supplier<T> task) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				permits.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CompletionException(e);
+			}
+			try {
+				return task.get();
+			} finally {
+				permits.release();
+			}
+		}, executor);
+	}
+
+	void execute(Runnable task) {
+		submit(() -> {
+			task.run();
+			return null;
+		});
+	}
+
+	@Override
+	public void close() {
+		executor.shutdownNow();
+	}
+}
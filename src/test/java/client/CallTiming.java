@@ -0,0 +1,33 @@
+package test.java.client;
+
+/**
+ * Phase timings of the request running on the current thread, filled in by the transport's
+ * socket factories, the exchange interceptor and the decoding step.
+ */
+final class CallTiming {
+	private static final ThreadLocal<CallTiming> CURRENT = new ThreadLocal<>();
+
+	final long startNanos = System.nanoTime();
+	//socket connect including any TLS handshake, zero when a pooled connection was reused
+	long connectNanos;
+	long tlsNanos;
+	//request sent until response headers arrived, including connect
+	long exchangeNanos;
+	long decodeNanos;
+	long totalNanos;
+
+	static CallTiming start() {
+		CallTiming timing = new CallTiming();
+		CURRENT.set(timing);
+		return timing;
+	}
+
+	static CallTiming current() {
+		return CURRENT.get();
+	}
+
+	void finish() {
+		totalNanos = System.nanoTime() - startNanos;
+		CURRENT.remove();
+	}
+}
@@ -0,0 +1,52 @@
+package test.java.client;
+
+import java.util.function.Supplier;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Lets another thread abort the HTTP request a call is running. The transport binds each request
+ * it creates to the cancellation of the current thread, aborting it at once if already cancelled.
+ */
+final class Cancellation {
+	private static final ThreadLocal<Cancellation> CURRENT = new ThreadLocal<>();
+
+	private volatile HttpUriRequest request;
+	private volatile boolean cancelled;
+
+	static Cancellation current() {
+		return CURRENT.get();
+	}
+
+	static boolean isCurrentCancelled() {
+		Cancellation cancellation = CURRENT.get();
+		return cancellation != null && cancellation.cancelled;
+	}
+
+	<T> T run(Supplier<T> call) {
+		CURRENT.set(this);
+		try {
+			return call.get();
+		} finally {
+			CURRENT.remove();
+		}
+	}
+
+	void bind(HttpUriRequest request) {
+		this.request = request;
+		if (cancelled) {
+			request.abort();
+		}
+	}
+
+	void cancel() {
+		cancelled = true;
+		HttpUriRequest bound = request;
+		if (bound != null) {
+			bound.abort();
+		}
+	}
+
+	boolean isCancelled() {
+		return cancelled;
+	}
+}
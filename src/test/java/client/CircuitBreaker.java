@@ -0,0 +1,130 @@
+package test.java.client;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import test.java.metrics.MetricsRegistry;
+
+/**
+ * Stops sending calls to an endpoint that keeps failing. A run of consecutive failures, where a
+ * call slower than the slow call threshold counts as one, opens the circuit; while it is open every
+ * call fails at once with {@link CircuitOpenException}. After the open interval a single probe is
+ * let through, and its outcome either closes the circuit or opens it for another interval.
+ */
+class CircuitBreaker {
+	static final String TRANSITIONS = "client.circuit.transitions";
+	static final String REJECTED = "client.circuit.rejected";
+
+	private final int failureThreshold;
+	private final long slowCallNanos;
+	private final long openNanos;
+	private final MetricsRegistry registry;
+	private final CircuitListener listener;
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder opened = new LongAdder();
+	private volatile CircuitState state = CircuitState.CLOSED;
+	//guarded by this
+	private long openedAt;
+	private boolean probing;
+
+	CircuitBreaker(int failureThreshold, long slowCallMillis, long openMillis, MetricsRegistry registry,
+			CircuitListener listener) {
+		this.failureThreshold = failureThreshold;
+		this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+		this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+		this.registry = registry;
+		this.listener = listener;
+	}
+
+	/**
+	 * @return whether this call is the half-open probe, to be handed back to {@link #release}
+	 * @throws CircuitOpenException when the call must not be sent
+	 */
+	boolean acquire() {
+		if (state == CircuitState.CLOSED) {
+			return false;
+		}
+		synchronized (this) {
+			if (state == CircuitState.OPEN) {
+				long waited = System.nanoTime() - openedAt;
+				if (waited < openNanos) {
+					throw reject("Circuit open, next probe in " + TimeUnit.NANOSECONDS.toMillis(openNanos - waited) + "ms");
+				}
+				transition(CircuitState.HALF_OPEN);
+			}
+			if (state == CircuitState.HALF_OPEN) {
+				if (probing) {
+					throw reject("Circuit half-open, waiting on the probe call");
+				}
+				probing = true;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private CircuitOpenException reject(String message) {
+		rejected.increment();
+		registry.increment(REJECTED);
+		return new CircuitOpenException(message);
+	}
+
+	//a cancelled call says nothing about the endpoint and leaves the count as it was
+	void release(boolean probe, boolean cancelled, boolean failed, long latencyNanos) {
+		boolean failure = failed || (slowCallNanos > 0 && latencyNanos > slowCallNanos);
+		if (probe) {
+			synchronized (this) {
+				probing = false;
+				if (!cancelled) {
+					consecutiveFailures.set(0);
+					transition(failure ? CircuitState.OPEN : CircuitState.CLOSED);
+				}
+			}
+			return;
+		}
+		if (cancelled) {
+			return;
+		}
+		if (!failure) {
+			if (consecutiveFailures.get() != 0) {
+				consecutiveFailures.set(0);
+			}
+			return;
+		}
+		if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+			synchronized (this) {
+				if (state == CircuitState.CLOSED) {
+					transition(CircuitState.OPEN);
+				}
+			}
+		}
+	}
+
+	//caller holds the lock
+	private void transition(CircuitState to) {
+		CircuitState from = state;
+		if (from == to) {
+			return;
+		}
+		if (to == CircuitState.OPEN) {
+			openedAt = System.nanoTime();
+			opened.increment();
+			consecutiveFailures.set(0);
+		}
+		state = to;
+		registry.increment(TRANSITIONS, "to", to.name().toLowerCase(Locale.ROOT));
+		if (listener != null) {
+			listener.onTransition(from, to);
+		}
+	}
+
+	CircuitState getState() {
+		return state;
+	}
+
+	CircuitStats getStats() {
+		return new CircuitStats(state, opened.sum(), rejected.sum(), consecutiveFailures.get());
+	}
+}
@@ -0,0 +1,159 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.http.HttpStatus;
+import test.java.metrics.MetricsRegistry;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock(TimingLock.NAME)
+public class CircuitBreakerTest {
+
+	private final MetricsRegistry registry = new MetricsRegistry();
+	private final List<String> transitions = Collections.synchronizedList(new ArrayList<>());
+
+	private CircuitBreaker breaker(long slowCallMillis, long openMillis) {
+		return new CircuitBreaker(3, slowCallMillis, openMillis, registry, (from, to) -> transitions.add(from + "->" + to));
+	}
+
+	@Test
+	public void release_ConsecutiveFailures_Opens() {
+		CircuitBreaker breaker = breaker(0, 60_000);
+		fail(breaker);
+		fail(breaker);
+		succeed(breaker);
+		fail(breaker);
+		fail(breaker);
+		assertEquals(breaker.getState(), CircuitState.CLOSED);
+		fail(breaker);
+		assertEquals(breaker.getState(), CircuitState.OPEN);
+		assertThrows(CircuitOpenException.class, breaker::acquire);
+		assertThrows(CircuitOpenException.class, breaker::acquire);
+		assertEquals(breaker.getStats().getOpened(), 1L);
+		assertEquals(breaker.getStats().getRejected(), 2L);
+		assertEquals(registry.snapshot().getCounter(CircuitBreaker.REJECTED), 2L);
+		assertEquals(registry.snapshot().getCounter(MetricsRegistry.key(CircuitBreaker.TRANSITIONS, "to", "open")), 1L);
+		assertEquals(transitions, Collections.singletonList("CLOSED->OPEN"));
+	}
+
+	@Test
+	public void release_SlowCalls_CountAsFailures() {
+		CircuitBreaker breaker = breaker(100, 60_000);
+		for (int i = 0; i < 3; i++) {
+			breaker.release(breaker.acquire(), false, false, TimeUnit.MILLISECONDS.toNanos(150));
+		}
+		assertEquals(breaker.getState(), CircuitState.OPEN);
+	}
+
+	@Test
+	public void release_Cancelled_LeavesCountAlone() {
+		CircuitBreaker breaker = breaker(0, 60_000);
+		fail(breaker);
+		fail(breaker);
+		breaker.release(breaker.acquire(), true, true, 0);
+		assertEquals(breaker.getStats().getConsecutiveFailures(), 2);
+		fail(breaker);
+		assertEquals(breaker.getState(), CircuitState.OPEN);
+	}
+
+	@Test
+	public void acquire_AfterOpenInterval_LetsOneProbeThrough() throws InterruptedException {
+		CircuitBreaker breaker = breaker(0, 50);
+		openUp(breaker);
+		Thread.sleep(80);
+		boolean probe = breaker.acquire();
+		assertTrue(probe);
+		assertEquals(breaker.getState(), CircuitState.HALF_OPEN);
+		assertThrows(CircuitOpenException.class, breaker::acquire);
+		breaker.release(probe, false, true, 0);
+		assertEquals(breaker.getState(), CircuitState.OPEN);
+
+		Thread.sleep(80);
+		probe = breaker.acquire();
+		breaker.release(probe, false, false, 0);
+		assertEquals(breaker.getState(), CircuitState.CLOSED);
+		assertFalse(breaker.acquire());
+		assertEquals(transitions, Arrays.asList("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN",
+				"OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"));
+		assertEquals(breaker.getStats().getOpened(), 2L);
+	}
+
+	@Test
+	public void acquire_CancelledProbe_NextCallProbes() throws InterruptedException {
+		CircuitBreaker breaker = breaker(0, 50);
+		openUp(breaker);
+		Thread.sleep(80);
+		breaker.release(breaker.acquire(), true, true, 0);
+		assertEquals(breaker.getState(), CircuitState.HALF_OPEN);
+		assertTrue(breaker.acquire());
+	}
+
+	@Test
+	public void getBudget_SlowEndpoint_FailsFastUntilRecovered() throws IOException, InterruptedException {
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			ClientConfig config = new ClientConfig();
+			config.setCircuitBreaker(true);
+			config.setCircuitFailureThreshold(3);
+			config.setCircuitSlowCallMillis(100);
+			config.setCircuitOpenMillis(300);
+			config.setCircuitListener((from, to) -> transitions.add(from + "->" + to));
+			try (Client client = new Client(config)) {
+				String url = Query.of("01/01/2019", 10).toUrl(server.getBaseUrl());
+				server.setLatencyMillis(150);
+				for (int i = 0; i < 3; i++) {
+					assertEquals(client.getBudget(url).getStatusCode(), HttpStatus.OK);
+				}
+				assertEquals(client.getCircuitStats().getState(), CircuitState.OPEN);
+				long start = System.nanoTime();
+				assertThrows(CircuitOpenException.class, () -> client.getBudget(url));
+				assertThrows(CircuitOpenException.class, () -> client.getError(url));
+				assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+				assertEquals(client.getCircuitStats().getRejected(), 2L);
+
+				server.setLatencyMillis(0);
+				Thread.sleep(400);
+				//the probe is judged on latency too, on a loaded machine it may take a few intervals to get a fast one
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+				while (client.getCircuitStats().getState() != CircuitState.CLOSED && System.nanoTime() < deadline) {
+					try {
+						client.getBudget(url);
+					} catch (CircuitOpenException e) {
+						Thread.sleep(50);
+					}
+				}
+				assertEquals(client.getCircuitStats().getState(), CircuitState.CLOSED);
+				assertEquals(transitions.get(0), "CLOSED->OPEN");
+				assertEquals(transitions.get(transitions.size() - 1), "HALF_OPEN->CLOSED");
+			}
+		}
+	}
+
+	private static void openUp(CircuitBreaker breaker) {
+		for (int i = 0; i < 3; i++) {
+			fail(breaker);
+		}
+		assertEquals(breaker.getState(), CircuitState.OPEN);
+	}
+
+	private static void fail(CircuitBreaker breaker) {
+		breaker.release(breaker.acquire(), false, true, 0);
+	}
+
+	private static void succeed(CircuitBreaker breaker) {
+		breaker.release(breaker.acquire(), false, false, 0);
+	}
+}
@@ -0,0 +1,6 @@
+package test.java.client;
+
+//told of every state change of a Client's circuit breaker, on the thread of the call that caused it
+public interface CircuitListener {
+	void onTransition(CircuitState from, CircuitState to);
+}
@@ -0,0 +1,10 @@
+package test.java.client;
+
+import org.springframework.web.client.ResourceAccessException;
+
+//thrown instead of sending a call while the circuit breaker is open
+public class CircuitOpenException extends ResourceAccessException {
+	public CircuitOpenException(String msg) {
+		super(msg);
+	}
+}
@@ -0,0 +1,10 @@
+package test.java.client;
+
+public enum CircuitState {
+	//calls go through, consecutive failures are counted
+	CLOSED,
+	//calls fail at once until the open interval has passed
+	OPEN,
+	//one probe call goes through, its outcome closes or reopens the circuit
+	HALF_OPEN
+}
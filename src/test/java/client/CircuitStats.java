@@ -0,0 +1,39 @@
+package test.java.client;
+
+public class CircuitStats {
+	private final CircuitState state;
+	private final long opened;
+	private final long rejected;
+	private final int consecutiveFailures;
+
+	public CircuitStats(CircuitState state, long opened, long rejected, int consecutiveFailures) {
+		this.state = state;
+		this.opened = opened;
+		this.rejected = rejected;
+		this.consecutiveFailures = consecutiveFailures;
+	}
+
+	public CircuitState getState() {
+		return state;
+	}
+
+	//times the circuit went from closed or half-open to open
+	public long getOpened() {
+		return opened;
+	}
+
+	//calls failed fast without being sent
+	public long getRejected() {
+		return rejected;
+	}
+
+	public int getConsecutiveFailures() {
+		return consecutiveFailures;
+	}
+
+	@Override
+	public String toString() {
+		return "CircuitStats[state=" + state + ", opened=" + opened + ", rejected=" + rejected
+				+ ", consecutiveFailures=" + consecutiveFailures + "]";
+	}
+}
@@ -0,0 +1,89 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import test.java.pojo.Budget;
+import test.java.pojo.ErrorResponse;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientAsyncTest {
+
+	private static BudgetStubServer server;
+
+	private Client client;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = BudgetStubServer.start();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		server.close();
+	}
+
+	@BeforeEach
+	public void setUp() {
+		ClientConfig config = new ClientConfig();
+		config.setBaseUrl(server.getBaseUrl());
+		client = new Client(config);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		client.close();
+	}
+
+	@Test
+	public void getBudgetAsync_ValidQuery_PriceMatches() {
+		ResponseEntity<Budget> response = client.getBudgetAsync(Query.of("01/01/2019", 31).toUrl(server.getBaseUrl())).join();
+		assertEquals(response.getStatusCode(), HttpStatus.OK);
+		assertEquals(response.getBody().getTotalCostValue(), new BigDecimal("3.25"));
+	}
+
+	@Test
+	public void getErrorAsync_InvalidQuery_InvalidNumDays() {
+		ErrorResponse response = client.getErrorAsync(Query.of("01/01/2019", 0).toUrl(server.getBaseUrl())).join();
+		assertEquals(response.getStatusCode(), HttpStatus.BAD_REQUEST);
+		assertEquals(response.getError(), "Invalid numberOfDays");
+	}
+
+	@Test
+	public void getBudgets_ManyQueries_ResultsInQueryOrder() {
+		Query[] queries = new Query[100];
+		for (int i = 0; i < queries.length; i++) {
+			queries[i] = Query.of("03/01/2019", i % 7 + 1);
+		}
+		List<CompletableFuture<ResponseEntity<Budget>>> results = client.getBudgets(Arrays.asList(queries), 4);
+		String[] expected = {"0.05", "0.05", "0.05", "0.10", "0.15", "0.20", "0.25"};
+		for (int i = 0; i < queries.length; i++) {
+			assertEquals(results.get(i).join().getBody().getTotalCostValue(), new BigDecimal(expected[i % 7]));
+		}
+	}
+
+	@Test
+	public void getBudgets_InvalidQuery_CompletesExceptionally() {
+		List<CompletableFuture<ResponseEntity<Budget>>> results = client.getBudgets(Arrays.asList(
+				Query.of("03/01/2019", 1), new Query("13/01/2019", "1"), Query.of("03/01/2019", 7)));
+		assertEquals(results.get(0).join().getStatusCode(), HttpStatus.OK);
+		CompletionException e = assertThrows(CompletionException.class, () -> results.get(1).join());
+		assertTrue(e.getCause() instanceof HttpClientErrorException);
+		assertEquals(results.get(2).join().getStatusCode(), HttpStatus.OK);
+	}
+}
@@ -0,0 +1,73 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import test.java.pojo.ErrorResponse;
+import test.java.pricing.BananaBudgetCalculator;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ClientConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int CALLS_PER_THREAD = 50;
+
+	private static BudgetStubServer server;
+	private static Client client;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = BudgetStubServer.start();
+		client = new Client();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		client.close();
+		server.close();
+	}
+
+	@Test
+	public void sharedClient_ManyThreads_EveryResultMatches() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				results.add(executor.submit((Callable<Integer>)() -> {
+					for (int i = 0; i < CALLS_PER_THREAD; i++) {
+						LocalDate date = LocalDate.of(2019, 1, 1).plusDays(thread * CALLS_PER_THREAD + i);
+						String startDate = String.format("%02d/%02d/%04d", date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+						if (i % 2 == 0) {
+							int days = i % 365 + 1;
+							assertEquals(client.getBudget(String.format(server.getBaseUrl(), startDate, days))
+									.getBody().getTotalCostValue(), BananaBudgetCalculator.totalCost(date, days));
+						} else {
+							ErrorResponse error = client.getError(String.format(server.getBaseUrl(), startDate, 0));
+							assertEquals(error.getStatusCode(), HttpStatus.BAD_REQUEST);
+							assertEquals(error.getError(), "Invalid numberOfDays");
+						}
+					}
+					return CALLS_PER_THREAD;
+				}));
+			}
+			for (Future<Integer> result : results) {
+				assertEquals(result.get().intValue(), CALLS_PER_THREAD);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(client.getTransportStats().getLeased(), 0);
+	}
+}
@@ -0,0 +1,328 @@
+package test.java.client;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import test.java.metrics.MetricsRegistry;
+
+public class ClientConfig {
+	public static final String DEFAULT_BASE_URL = "https://bananabudget.azurewebsites.net/?startDate=%s&numberOfDays=%s";
+
+	private String baseUrl = DEFAULT_BASE_URL;
+	private int maxTotalConnections = 20;
+	private int maxConnectionsPerRoute = 20;
+	private long maxIdleMillis = 30000;
+	private int connectTimeoutMillis = 5000;
+	private int readTimeoutMillis = 10000;
+	private int connectionRequestTimeoutMillis = 5000;
+	private int asyncConcurrency = 20;
+	private int fanOutConcurrency = 8;
+	private int cacheMaxEntries = 0;
+	private long cacheTtlMillis = 0;
+	private boolean coalescing = false;
+	private MetricsRegistry metricsRegistry;
+	private boolean hedging = false;
+	private double hedgeDelayPercentile = 95;
+	private long hedgeMinDelayMillis = 5;
+	private double hedgeMaxExtraLoad = 0.05;
+	private Path recordFile;
+	private boolean adaptiveConcurrency = false;
+	private int initialConcurrencyLimit = 10;
+	private int maxConcurrencyLimit = 20;
+	private double latencyTolerance = 2;
+	private Path replayFile;
+	private long callTimeoutMillis = 30000;
+	private boolean circuitBreaker = false;
+	private int circuitFailureThreshold = 5;
+	private long circuitSlowCallMillis = 0;
+	private long circuitOpenMillis = 5000;
+	private CircuitListener circuitListener;
+
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+
+	public void setBaseUrl(String baseUrl) {
+		this.baseUrl = baseUrl;
+	}
+
+	public int getMaxTotalConnections() {
+		return maxTotalConnections;
+	}
+
+	public void setMaxTotalConnections(int maxTotalConnections) {
+		this.maxTotalConnections = maxTotalConnections;
+	}
+
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	public long getMaxIdleMillis() {
+		return maxIdleMillis;
+	}
+
+	public void setMaxIdleMillis(long maxIdleMillis) {
+		this.maxIdleMillis = maxIdleMillis;
+	}
+
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	public int getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	public void setReadTimeoutMillis(int readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
+
+	public int getConnectionRequestTimeoutMillis() {
+		return connectionRequestTimeoutMillis;
+	}
+
+	public void setConnectionRequestTimeoutMillis(int connectionRequestTimeoutMillis) {
+		this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+	}
+
+	public int getAsyncConcurrency() {
+		return asyncConcurrency;
+	}
+
+	public void setAsyncConcurrency(int asyncConcurrency) {
+		this.asyncConcurrency = asyncConcurrency;
+	}
+
+	public int getFanOutConcurrency() {
+		return fanOutConcurrency;
+	}
+
+	public void setFanOutConcurrency(int fanOutConcurrency) {
+		this.fanOutConcurrency = fanOutConcurrency;
+	}
+
+	//0 disables the response cache
+	public int getCacheMaxEntries() {
+		return cacheMaxEntries;
+	}
+
+	public void setCacheMaxEntries(int cacheMaxEntries) {
+		this.cacheMaxEntries = cacheMaxEntries;
+	}
+
+	//0 keeps cached responses until they are evicted by size
+	public long getCacheTtlMillis() {
+		return cacheTtlMillis;
+	}
+
+	public void setCacheTtlMillis(long cacheTtlMillis) {
+		this.cacheTtlMillis = cacheTtlMillis;
+	}
+
+	//share one request between concurrent identical calls
+	public boolean isCoalescing() {
+		return coalescing;
+	}
+
+	public void setCoalescing(boolean coalescing) {
+		this.coalescing = coalescing;
+	}
+
+	//null gives each Client a registry of its own
+	public MetricsRegistry getMetricsRegistry() {
+		return metricsRegistry;
+	}
+
+	public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+	}
+
+	public boolean isHedging() {
+		return hedging;
+	}
+
+	public void setHedging(boolean hedging) {
+		this.hedging = hedging;
+	}
+
+	//a call still running after this percentile of recent latencies gets a duplicate
+	public double getHedgeDelayPercentile() {
+		return hedgeDelayPercentile;
+	}
+
+	public void setHedgeDelayPercentile(double hedgeDelayPercentile) {
+		this.hedgeDelayPercentile = hedgeDelayPercentile;
+	}
+
+	public long getHedgeMinDelayMillis() {
+		return hedgeMinDelayMillis;
+	}
+
+	public void setHedgeMinDelayMillis(long hedgeMinDelayMillis) {
+		this.hedgeMinDelayMillis = hedgeMinDelayMillis;
+	}
+
+	//hedges allowed per call on average, 0.05 adds at most 5% extra requests
+	public double getHedgeMaxExtraLoad() {
+		return hedgeMaxExtraLoad;
+	}
+
+	public void setHedgeMaxExtraLoad(double hedgeMaxExtraLoad) {
+		this.hedgeMaxExtraLoad = hedgeMaxExtraLoad;
+	}
+
+	//appends every response the Client receives to this store
+	public Path getRecordFile() {
+		return recordFile;
+	}
+
+	public void setRecordFile(Path recordFile) {
+		this.recordFile = recordFile;
+	}
+
+	//answers every call from this store instead of the network
+	public Path getReplayFile() {
+		return replayFile;
+	}
+
+	public void setReplayFile(Path replayFile) {
+		this.replayFile = replayFile;
+	}
+
+	//an AIMD limit on calls in flight, callers beyond it wait up to connectionRequestTimeoutMillis for a slot
+	public boolean isAdaptiveConcurrency() {
+		return adaptiveConcurrency;
+	}
+
+	public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+		this.adaptiveConcurrency = adaptiveConcurrency;
+	}
+
+	public int getInitialConcurrencyLimit() {
+		return initialConcurrencyLimit;
+	}
+
+	public void setInitialConcurrencyLimit(int initialConcurrencyLimit) {
+		this.initialConcurrencyLimit = initialConcurrencyLimit;
+	}
+
+	//keep at or below maxConnectionsPerRoute, beyond it calls queue for a connection instead
+	public int getMaxConcurrencyLimit() {
+		return maxConcurrencyLimit;
+	}
+
+	public void setMaxConcurrencyLimit(int maxConcurrencyLimit) {
+		this.maxConcurrencyLimit = maxConcurrencyLimit;
+	}
+
+	//a response slower than this multiple of the recent minimum latency shrinks the limit
+	public double getLatencyTolerance() {
+		return latencyTolerance;
+	}
+
+	public void setLatencyTolerance(double latencyTolerance) {
+		this.latencyTolerance = latencyTolerance;
+	}
+
+	//total time one HTTP exchange may take, pool wait, connect and body included, 0 for no limit
+	public long getCallTimeoutMillis() {
+		return callTimeoutMillis;
+	}
+
+	public void setCallTimeoutMillis(long callTimeoutMillis) {
+		this.callTimeoutMillis = callTimeoutMillis;
+	}
+
+	//fail calls at once while the endpoint keeps failing, see circuitFailureThreshold and circuitOpenMillis
+	public boolean isCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	public void setCircuitBreaker(boolean circuitBreaker) {
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	//consecutive failures that open the circuit: exceptions, timeouts, 429s, 5xxs and slow calls
+	public int getCircuitFailureThreshold() {
+		return circuitFailureThreshold;
+	}
+
+	public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+		this.circuitFailureThreshold = circuitFailureThreshold;
+	}
+
+	//a call slower than this counts as a failure, 0 to judge calls on their outcome only
+	public long getCircuitSlowCallMillis() {
+		return circuitSlowCallMillis;
+	}
+
+	public void setCircuitSlowCallMillis(long circuitSlowCallMillis) {
+		this.circuitSlowCallMillis = circuitSlowCallMillis;
+	}
+
+	//how long the circuit stays open before a probe call is let through
+	public long getCircuitOpenMillis() {
+		return circuitOpenMillis;
+	}
+
+	public void setCircuitOpenMillis(long circuitOpenMillis) {
+		this.circuitOpenMillis = circuitOpenMillis;
+	}
+
+	public CircuitListener getCircuitListener() {
+		return circuitListener;
+	}
+
+	public void setCircuitListener(CircuitListener circuitListener) {
+		this.circuitListener = circuitListener;
+	}
+
+	//metrics registry and circuit listener compare by identity
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ClientConfig)) {
+			return false;
+		}
+		ClientConfig other = (ClientConfig)o;
+		return Objects.equals(baseUrl, other.baseUrl) && maxTotalConnections == other.maxTotalConnections &&
+				maxConnectionsPerRoute == other.maxConnectionsPerRoute && maxIdleMillis == other.maxIdleMillis &&
+				connectTimeoutMillis == other.connectTimeoutMillis && readTimeoutMillis == other.readTimeoutMillis &&
+				connectionRequestTimeoutMillis == other.connectionRequestTimeoutMillis &&
+				asyncConcurrency == other.asyncConcurrency && fanOutConcurrency == other.fanOutConcurrency &&
+				cacheMaxEntries == other.cacheMaxEntries && cacheTtlMillis == other.cacheTtlMillis &&
+				coalescing == other.coalescing && Objects.equals(metricsRegistry, other.metricsRegistry) &&
+				hedging == other.hedging && Double.compare(hedgeDelayPercentile, other.hedgeDelayPercentile) == 0 &&
+				hedgeMinDelayMillis == other.hedgeMinDelayMillis &&
+				Double.compare(hedgeMaxExtraLoad, other.hedgeMaxExtraLoad) == 0 &&
+				Objects.equals(recordFile, other.recordFile) && adaptiveConcurrency == other.adaptiveConcurrency &&
+				initialConcurrencyLimit == other.initialConcurrencyLimit &&
+				maxConcurrencyLimit == other.maxConcurrencyLimit &&
+				Double.compare(latencyTolerance, other.latencyTolerance) == 0 &&
+				Objects.equals(replayFile, other.replayFile) && callTimeoutMillis == other.callTimeoutMillis &&
+				circuitBreaker == other.circuitBreaker && circuitFailureThreshold == other.circuitFailureThreshold &&
+				circuitSlowCallMillis == other.circuitSlowCallMillis &&
+				circuitOpenMillis == other.circuitOpenMillis &&
+				Objects.equals(circuitListener, other.circuitListener);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(baseUrl, maxTotalConnections, maxConnectionsPerRoute, maxIdleMillis,
+				connectTimeoutMillis, readTimeoutMillis, connectionRequestTimeoutMillis, asyncConcurrency,
+				fanOutConcurrency, cacheMaxEntries, cacheTtlMillis, coalescing, metricsRegistry, hedging,
+				hedgeDelayPercentile, hedgeMinDelayMillis, hedgeMaxExtraLoad, recordFile, adaptiveConcurrency,
+				initialConcurrencyLimit, maxConcurrencyLimit, latencyTolerance, replayFile, callTimeoutMillis,
+				circuitBreaker, circuitFailureThreshold, circuitSlowCallMillis, circuitOpenMillis, circuitListener);
+	}
+}
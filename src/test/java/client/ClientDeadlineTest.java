@@ -0,0 +1,99 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.http.HttpStatus;
+import test.java.metrics.MetricsRegistry;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock(TimingLock.NAME)
+public class ClientDeadlineTest {
+
+	@Test
+	public void getBudget_SlowResponse_ExceedsDeadline() throws IOException {
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			server.setLatencyMillis(3000);
+			ClientConfig config = new ClientConfig();
+			config.setCallTimeoutMillis(200);
+			MetricsRegistry registry = new MetricsRegistry();
+			config.setMetricsRegistry(registry);
+			try (Client client = new Client(config)) {
+				long start = System.nanoTime();
+				DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+						() -> client.getBudget(Query.of("01/01/2019", 10).toUrl(server.getBaseUrl())));
+				assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(2000), e.getMessage());
+				assertTrue(e.getMessage().contains("exceeded its 200ms deadline"), e.getMessage());
+				assertEquals(registry.snapshot().getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+						"endpoint", "budget", "status", "none", "outcome", "timeout")), 1L);
+			}
+		}
+	}
+
+	//every read returns within the read timeout, only the deadline notices the whole body is too slow
+	@Test
+	public void getError_TricklingBody_AbortedAtDeadline() throws IOException, InterruptedException {
+		try (ServerSocket listener = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			Thread trickle = new Thread(() -> trickle(listener), "trickle-server");
+			trickle.setDaemon(true);
+			trickle.start();
+			ClientConfig config = new ClientConfig();
+			config.setReadTimeoutMillis(5000);
+			config.setCallTimeoutMillis(300);
+			try (Client client = new Client(config)) {
+				long start = System.nanoTime();
+				assertThrows(DeadlineExceededException.class,
+						() -> client.getError("http://127.0.0.1:" + listener.getLocalPort() + "/?startDate=x&numberOfDays=1"));
+				assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(3000));
+			}
+			trickle.interrupt();
+		}
+	}
+
+	@Test
+	public void getBudget_WithinDeadline_Answers() throws IOException {
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			ClientConfig config = new ClientConfig();
+			config.setCallTimeoutMillis(5000);
+			try (Client client = new Client(config)) {
+				for (int i = 0; i < 20; i++) {
+					assertEquals(client.getBudget(Query.of("01/01/2019", 10).toUrl(server.getBaseUrl())).getStatusCode(),
+							HttpStatus.OK);
+				}
+			}
+		}
+	}
+
+	private static void trickle(ServerSocket listener) {
+		try (Socket socket = listener.accept()) {
+			InputStream in = socket.getInputStream();
+			byte[] request = new byte[4096];
+			in.read(request);
+			OutputStream out = socket.getOutputStream();
+			out.write(("HTTP/1.1 400 Bad Request\r\nContent-Type: application/json\r\nContent-Length: 1000\r\n\r\n{\"error\":\"")
+					.getBytes(StandardCharsets.UTF_8));
+			out.flush();
+			for (int i = 0; i < 1000 && !Thread.currentThread().isInterrupted(); i++) {
+				out.write('x');
+				out.flush();
+				Thread.sleep(20);
+			}
+		} catch (IOException | InterruptedException e) {
+
+		}
+	}
+}
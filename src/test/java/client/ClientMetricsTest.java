@@ -0,0 +1,105 @@
+package test.java.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import test.java.metrics.MetricsRegistry;
+import test.java.metrics.MetricsSnapshot;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientMetricsTest {
+
+	private BudgetStubServer server;
+	private MetricsRegistry registry;
+	private Client client;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = BudgetStubServer.start();
+		registry = new MetricsRegistry();
+		ClientConfig config = new ClientConfig();
+		config.setMetricsRegistry(registry);
+		client = new Client(config);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		client.close();
+		server.close();
+	}
+
+	@Test
+	public void getBudget_Success_RecordsCountAndPhases() {
+		for (int i = 0; i < 5; i++) {
+			client.getBudget(String.format(server.getBaseUrl(), "01/01/2019", 10));
+		}
+		MetricsSnapshot snapshot = registry.snapshot();
+		assertEquals(snapshot.getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+				"endpoint", "budget", "status", "200", "outcome", "success")), 5L);
+		assertEquals(snapshot.getTimer(MetricsRegistry.key(RequestMetrics.LATENCY,
+				"endpoint", "budget", "status", "200", "outcome", "success")).getCount(), 5L);
+		//one pooled connection serves every call, so only the first one pays for connect
+		assertEquals(phase(snapshot, "connect").getCount(), 1L);
+		assertEquals(phase(snapshot, "ttfb").getCount(), 5L);
+		assertEquals(phase(snapshot, "decode").getCount(), 5L);
+		assertEquals(snapshot.getTimer(MetricsRegistry.key(RequestMetrics.PHASE, "endpoint", "budget", "phase", "tls")), null);
+	}
+
+	@Test
+	public void getBudget_BadRequest_RecordsClientError() {
+		assertThrows(HttpClientErrorException.class,
+				() -> client.getBudget(String.format(server.getBaseUrl(), "01/01/2019", 0)));
+		assertEquals(registry.snapshot().getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+				"endpoint", "budget", "status", "400", "outcome", "client_error")), 1L);
+	}
+
+	@Test
+	public void getError_BadRequest_RecordsClientError() {
+		client.getError(String.format(server.getBaseUrl(), "01/01/2019", 0));
+		assertEquals(registry.snapshot().getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+				"endpoint", "error", "status", "400", "outcome", "client_error")), 1L);
+	}
+
+	@Test
+	public void getBudget_ConnectionRefused_RecordsException() {
+		String baseUrl = server.getBaseUrl();
+		server.close();
+		assertThrows(ResourceAccessException.class,
+				() -> client.getBudget(String.format(baseUrl, "01/01/2019", 10)));
+		assertEquals(registry.snapshot().getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+				"endpoint", "budget", "status", "none", "outcome", "exception")), 1L);
+	}
+
+	@Test
+	public void writeJson_AfterCalls_ContainsCountersAndTimers() throws IOException {
+		client.getBudget(String.format(server.getBaseUrl(), "01/01/2019", 10));
+		Path file = Files.createTempFile("client-metrics", ".json");
+		try {
+			registry.writeJson(file);
+			JsonNode json = new ObjectMapper().readTree(file.toFile());
+			String key = MetricsRegistry.key(RequestMetrics.REQUESTS, "endpoint", "budget", "status", "200", "outcome", "success");
+			assertEquals(json.get("counters").get(key).asLong(), 1L);
+			JsonNode timer = json.get("timers").get(MetricsRegistry.key(RequestMetrics.LATENCY,
+					"endpoint", "budget", "status", "200", "outcome", "success"));
+			assertEquals(timer.get("count").asLong(), 1L);
+			assertTrue(timer.get("p99").asDouble() > 0);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static MetricsSnapshot.Timer phase(MetricsSnapshot snapshot, String phase) {
+		return snapshot.getTimer(MetricsRegistry.key(RequestMetrics.PHASE, "endpoint", "budget", "phase", phase));
+	}
+}
@@ -0,0 +1,113 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import test.java.metrics.MetricsRegistry;
+import test.java.pojo.ErrorResponse;
+import test.java.pricing.BananaBudgetCalculator;
+import test.java.replay.ResponseRecorder;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClientRecordReplayTest {
+
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("client-responses", ".bin");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void replay_AfterRecording_AnswersWithoutServer() throws IOException {
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			ClientConfig config = new ClientConfig();
+			config.setBaseUrl(server.getBaseUrl());
+			config.setRecordFile(file);
+			try (Client client = new Client(config)) {
+				for (int days = 1; days <= 50; days++) {
+					client.getBudget(Query.of("01/01/2019", days).toUrl(server.getBaseUrl()));
+				}
+				client.getError(Query.of("01/01/2019", 0).toUrl(server.getBaseUrl()));
+			}
+		}
+
+		ClientConfig config = new ClientConfig();
+		config.setReplayFile(file);
+		String baseUrl = ClientConfig.DEFAULT_BASE_URL;
+		try (Client client = new Client(config)) {
+			for (int days = 1; days <= 50; days++) {
+				assertEquals(client.getBudget(Query.of("01/01/2019", days).toUrl(baseUrl)).getBody().getTotalCostValue(),
+						BananaBudgetCalculator.totalCost(LocalDate.of(2019, 1, 1), days));
+			}
+			ErrorResponse error = client.getError(Query.of("01/01/2019", 0).toUrl(baseUrl));
+			assertEquals(error.getStatusCode(), HttpStatus.BAD_REQUEST);
+			assertEquals(error.getError(), "Invalid numberOfDays");
+			assertThrows(HttpClientErrorException.class, () -> client.getBudget(Query.of("01/01/2019", 0).toUrl(baseUrl)));
+			assertThrows(ResourceAccessException.class, () -> client.getBudget(Query.of("01/01/2019", 51).toUrl(baseUrl)));
+			assertEquals(client.getTransportStats().getCreated(), 0L);
+		}
+	}
+
+	//the shared client is only closed at JVM exit, its recording must not wait for that
+	@Test
+	public void replay_RecordingClientStillOpen_AnswersRecordedCalls() throws IOException {
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			ClientConfig recordConfig = new ClientConfig();
+			recordConfig.setRecordFile(file);
+			try (Client recording = new Client(recordConfig)) {
+				recording.getBudget(Query.of("01/01/2019", 10).toUrl(server.getBaseUrl()));
+
+				ClientConfig replayConfig = new ClientConfig();
+				replayConfig.setReplayFile(file);
+				try (Client client = new Client(replayConfig)) {
+					assertEquals(client.getBudget(Query.of("01/01/2019", 10).toUrl(ClientConfig.DEFAULT_BASE_URL)).getBody()
+							.getTotalCostValue(), BananaBudgetCalculator.totalCost(LocalDate.of(2019, 1, 1), 10));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void getError_MalformedBody_ThrowsWithStatus() throws IOException {
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/?startDate=x&numberOfDays=1", 400, "text/html",
+					"<html>Bad Request</html>".getBytes(StandardCharsets.UTF_8));
+			recorder.record("/?startDate=y&numberOfDays=1", 404, null, new byte[0]);
+		}
+		ClientConfig config = new ClientConfig();
+		config.setReplayFile(file);
+		MetricsRegistry registry = new MetricsRegistry();
+		config.setMetricsRegistry(registry);
+		try (Client client = new Client(config)) {
+			RestClientResponseException e = assertThrows(RestClientResponseException.class,
+					() -> client.getError(Query.of("x", 1).toUrl(ClientConfig.DEFAULT_BASE_URL)));
+			assertEquals(e.getRawStatusCode(), 400);
+			assertEquals(registry.snapshot().getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+					"endpoint", "error", "status", "400", "outcome", "client_error")), 1L);
+
+			//no body at all is not malformed, just an error without a message
+			ErrorResponse empty = client.getError(Query.of("y", 1).toUrl(ClientConfig.DEFAULT_BASE_URL));
+			assertEquals(empty.getStatusCode(), HttpStatus.NOT_FOUND);
+			assertNull(empty.getError());
+		}
+	}
+}
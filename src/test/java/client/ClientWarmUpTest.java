@@ -0,0 +1,147 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import test.java.metrics.MetricsRegistry;
+import test.java.metrics.MetricsSnapshot;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientWarmUpTest {
+
+	@Test
+	public void warmUp_AgainstStub_OpensConnectionsAndKeepsMetricsApart() throws IOException {
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			ClientConfig config = new ClientConfig();
+			config.setBaseUrl(server.getBaseUrl());
+			try (Client client = new Client(config)) {
+				WarmUpReport report = client.warmUp(server.getBaseUrl(), 3, 100);
+				assertEquals(report.getFailures(), 0);
+				assertTrue(report.getConnectionsOpened() >= 1, report.toString());
+				assertTrue(report.getConstructionNanos() > 0 && report.getFirstRequestNanos() > 0, report.toString());
+				assertTrue(report.getWarmRequestNanos() > 0, report.toString());
+
+				MetricsSnapshot snapshot = client.getMetrics().snapshot();
+				assertEquals(snapshot.getCounter(MetricsRegistry.key(RequestMetrics.WARM_UP_REQUESTS,
+						"endpoint", "budget", "status", "200", "outcome", "success")), 4L);
+				assertEquals(snapshot.getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+						"endpoint", "budget", "status", "200", "outcome", "success")), 0L);
+
+				//the pooled connections opened by warm-up serve the first real call
+				long created = client.getTransportStats().getCreated();
+				client.getBudget(Query.of("02/01/2019", 10).toUrl(server.getBaseUrl()));
+				assertEquals(client.getTransportStats().getCreated(), created);
+				assertEquals(client.getMetrics().snapshot().getCounter(MetricsRegistry.key(RequestMetrics.REQUESTS,
+						"endpoint", "budget", "status", "200", "outcome", "success")), 1L);
+			}
+		}
+	}
+
+	@Test
+	public void warmUp_UnreachableHost_ReportsFailures() throws IOException {
+		String baseUrl;
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			baseUrl = server.getBaseUrl();
+		}
+		try (Client client = new Client()) {
+			WarmUpReport report = client.warmUp(baseUrl, 2, 10);
+			assertEquals(report.getFailures(), 3);
+			assertEquals(report.getWarmRequestNanos(), 0L);
+		}
+	}
+
+	@Test
+	public void shared_EqualConfigs_SameClient() {
+		assertSame(Clients.shared(), Clients.shared(ClientConfig::new));
+	}
+
+	@Test
+	public void shared_DifferentConfigs_ClientEach() {
+		Path replayFile = Paths.get("target", "shared-client-test.bin");
+		Supplier<ClientConfig> replaying = () -> {
+			ClientConfig config = new ClientConfig();
+			config.setReplayFile(replayFile);
+			return config;
+		};
+		Supplier<ClientConfig> timingOut = () -> {
+			ClientConfig config = new ClientConfig();
+			config.setCallTimeoutMillis(1234);
+			return config;
+		};
+		assertNotSame(Clients.shared(timingOut), Clients.shared());
+		assertSame(Clients.shared(timingOut), Clients.shared(timingOut));
+		assertNotEquals(replaying.get(), new ClientConfig());
+		assertEquals(replaying.get(), replaying.get());
+		assertEquals(replaying.get().hashCode(), replaying.get().hashCode());
+	}
+
+	//a field left out of equals would let configurations that differ in it share a Client
+	@Test
+	public void equals_AnyFieldChanged_NotEqual() throws IllegalAccessException {
+		for (Field field : ClientConfig.class.getDeclaredFields()) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+			field.setAccessible(true);
+			ClientConfig changed = new ClientConfig();
+			field.set(changed, otherValue(field, field.get(changed)));
+			assertNotEquals(changed, new ClientConfig(), field.getName());
+			assertNotEquals(changed.hashCode(), new ClientConfig().hashCode(), field.getName());
+		}
+	}
+
+	@Test
+	public void warmUp_Client_ReportKeptAndRecorded() throws IOException {
+		try (BudgetStubServer server = BudgetStubServer.start()) {
+			ClientConfig config = new ClientConfig();
+			config.setBaseUrl(server.getBaseUrl());
+			try (Client client = new Client(config)) {
+				assertNull(Clients.getWarmUpReport(client));
+				WarmUpReport report = Clients.warmUp(client, server.getBaseUrl());
+				assertSame(Clients.warmUp(client, server.getBaseUrl()), report);
+				assertSame(Clients.getWarmUpReport(client), report);
+
+				MetricsSnapshot snapshot = client.getMetrics().snapshot();
+				for (String stage : new String[] {"construction", "decode", "first_request", "warm_request"}) {
+					assertEquals(snapshot.getTimer(MetricsRegistry.key(RequestMetrics.WARM_UP_COLD_START, "stage", stage))
+							.getCount(), 1L, stage);
+				}
+			}
+		}
+	}
+
+	//a value of the field's type that differs from current
+	private static Object otherValue(Field field, Object current) {
+		Class<?> type = field.getType();
+		if (type == int.class) {
+			return (int)current + 1;
+		} else if (type == long.class) {
+			return (long)current + 1;
+		} else if (type == double.class) {
+			return (double)current + 1;
+		} else if (type == boolean.class) {
+			return !(boolean)current;
+		} else if (type == String.class) {
+			return current + "x";
+		} else if (type == Path.class) {
+			return Paths.get("target", field.getName());
+		} else if (type == MetricsRegistry.class) {
+			return new MetricsRegistry();
+		} else if (type == CircuitListener.class) {
+			return (CircuitListener)(from, to) -> {
+			};
+		}
+		throw new AssertionError("No other value for " + field + ", add one for its type");
+	}
+}
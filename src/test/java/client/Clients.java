@@ -0,0 +1,59 @@
+package test.java.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+/**
+ * One {@link Client} per configuration per process for test classes that do not need a client of
+ * their own. Callers asking with equal configurations share a Client, which is built on first use,
+ * warmed up at most once and closed when the JVM exits, so every test class after the first starts
+ * with resolved serializers, compiled decode paths and open connections. A caller with a different
+ * configuration, such as one recording or replaying responses, gets a Client of its own.
+ */
+public final class Clients {
+	static final int WARM_UP_CONNECTIONS = 4;
+	static final int WARM_UP_DECODE_ITERATIONS = 1000;
+
+	private static final Map<ClientConfig, Client> clients = new HashMap<>();
+	//Client keeps Object's identity equals; weak keys let a Client of a single test class go once closed
+	private static final Map<Client, WarmUpReport> warmUpReports = new WeakHashMap<>();
+
+	private Clients() {
+	}
+
+	public static synchronized Client shared() {
+		return shared(ClientConfig::new);
+	}
+
+	//the configuration must not be changed after it is handed over, it is the key of the shared Client
+	public static synchronized Client shared(Supplier<ClientConfig> config) {
+		ClientConfig key = config.get();
+		Client client = clients.get(key);
+		if (client == null) {
+			client = new Client(key);
+			Runtime.getRuntime().addShutdownHook(new Thread(client::close, "budget-client-shutdown"));
+			clients.put(key, client);
+		}
+		return client;
+	}
+
+	/**
+	 * Warms client against baseUrl on the first call and returns that report from then on. The cold
+	 * start numbers are also recorded in the client's metrics under client.warmup.coldstart.
+	 */
+	public static synchronized WarmUpReport warmUp(Client client, String baseUrl) {
+		WarmUpReport report = warmUpReports.get(client);
+		if (report == null) {
+			report = client.warmUp(baseUrl, WARM_UP_CONNECTIONS, WARM_UP_DECODE_ITERATIONS);
+			warmUpReports.put(client, report);
+		}
+		return report;
+	}
+
+	//null when client has not been warmed up through warmUp
+	public static synchronized WarmUpReport getWarmUpReport(Client client) {
+		return warmUpReports.get(client);
+	}
+}
@@ -0,0 +1,30 @@
+package test.java.client;
+
+public class CoalescingStats {
+	private final long calls;
+	private final long upstreamCalls;
+	private final long savedCalls;
+
+	public CoalescingStats(long calls, long upstreamCalls, long savedCalls) {
+		this.calls = calls;
+		this.upstreamCalls = upstreamCalls;
+		this.savedCalls = savedCalls;
+	}
+
+	public long getCalls() {
+		return calls;
+	}
+
+	public long getUpstreamCalls() {
+		return upstreamCalls;
+	}
+
+	public long getSavedCalls() {
+		return savedCalls;
+	}
+
+	@Override
+	public String toString() {
+		return "CoalescingStats[calls=" + calls + ", upstreamCalls=" + upstreamCalls + ", savedCalls=" + savedCalls + "]";
+	}
+}
@@ -0,0 +1,89 @@
+package test.java.client;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Bounds the total time of one HTTP exchange. The transport binds each request it creates to the
+ * deadline of the current thread, which shortens the pool, connect and read timeouts to the time
+ * left; a timer aborts the request when the deadline passes, which also ends a body that is still
+ * trickling in after every single read finished within the read timeout.
+ */
+final class Deadline {
+	private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+	private final long timeoutMillis;
+	private final long deadlineNanos;
+	private final ScheduledFuture<?> timer;
+	private volatile HttpUriRequest request;
+	private volatile boolean expired;
+
+	private Deadline(long timeoutMillis, ScheduledExecutorService timers) {
+		this.timeoutMillis = timeoutMillis;
+		this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		this.timer = timers.schedule(this::expire, timeoutMillis, TimeUnit.MILLISECONDS);
+	}
+
+	//starts the deadline for the calling thread, end it with finish
+	static Deadline start(long timeoutMillis, ScheduledExecutorService timers) {
+		Deadline deadline = new Deadline(timeoutMillis, timers);
+		CURRENT.set(deadline);
+		return deadline;
+	}
+
+	static Deadline current() {
+		return CURRENT.get();
+	}
+
+	static boolean isCurrentExpired() {
+		Deadline deadline = CURRENT.get();
+		return deadline != null && deadline.isExpired();
+	}
+
+	void bind(HttpUriRequest request, RequestConfig defaults) {
+		this.request = request;
+		if (expired) {
+			request.abort();
+			return;
+		}
+		if (request instanceof HttpRequestBase) {
+			int remaining = (int)Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+			((HttpRequestBase)request).setConfig(RequestConfig.copy(defaults)
+					.setConnectionRequestTimeout(shorter(defaults.getConnectionRequestTimeout(), remaining))
+					.setConnectTimeout(shorter(defaults.getConnectTimeout(), remaining))
+					.setSocketTimeout(shorter(defaults.getSocketTimeout(), remaining))
+					.build());
+		}
+	}
+
+	//0 and negative timeouts mean none
+	private static int shorter(int timeout, int remaining) {
+		return timeout > 0 ? Math.min(timeout, remaining) : remaining;
+	}
+
+	private void expire() {
+		expired = true;
+		HttpUriRequest bound = request;
+		if (bound != null) {
+			bound.abort();
+		}
+	}
+
+	//whether the call ran out of time, also when a clamped timeout fired just before the timer
+	boolean isExpired() {
+		return expired || System.nanoTime() - deadlineNanos >= 0;
+	}
+
+	long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	void finish() {
+		timer.cancel(false);
+		CURRENT.remove();
+	}
+}
@@ -0,0 +1,11 @@
+package test.java.client;
+
+import java.io.IOException;
+import org.springframework.web.client.ResourceAccessException;
+
+//a call aborted because it ran past ClientConfig.callTimeoutMillis
+public class DeadlineExceededException extends ResourceAccessException {
+	public DeadlineExceededException(String msg, IOException ex) {
+		super(msg, ex);
+	}
+}
@@ -0,0 +1,216 @@
+package test.java.client;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.web.client.RestClientResponseException;
+import test.java.metrics.LatencyHistogram;
+import test.java.metrics.MetricsRegistry;
+
+/**
+ * Sends a duplicate of a call that has run longer than a percentile of recent call latencies and
+ * keeps whichever attempt answers first, aborting the other. Every call adds a fraction of a hedge
+ * to a token budget and every hedge spends a whole one, which caps the extra load hedging adds.
+ */
+class Hedger implements Closeable {
+	static final String HEDGES = "client.hedges";
+
+	private static final int RECOMPUTE_EVERY = 32;
+	private static final long WINDOW = 4096;
+	//the budget counts thousandths of a hedge
+	private static final long TOKEN = 1000;
+	private static final long MAX_TOKENS = 10 * TOKEN;
+
+	private static final int PENDING = 0;
+	private static final int SETTLED = 1;
+	private static final int HEDGED = 2;
+
+	private final double percentile;
+	private final long minDelayNanos;
+	private final long refill;
+	private final MetricsRegistry registry;
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final AtomicLong samples = new AtomicLong();
+	private final AtomicLong tokens = new AtomicLong();
+	//negative until enough latencies were seen to pick a delay
+	private volatile long delayNanos = -1;
+	private final ScheduledThreadPoolExecutor timer;
+	private final ExecutorService hedgeExecutor;
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder fired = new LongAdder();
+	private final LongAdder won = new LongAdder();
+	private final LongAdder throttled = new LongAdder();
+
+	Hedger(double percentile, long minDelayMillis, double maxExtraLoad, MetricsRegistry registry) {
+		this.percentile = percentile;
+		this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+		this.refill = Math.round(maxExtraLoad * TOKEN);
+		this.registry = registry;
+		timer = new ScheduledThreadPoolExecutor(1, r -> daemon(r, "budget-hedge-timer"));
+		timer.setRemoveOnCancelPolicy(true);
+		AtomicInteger count = new AtomicInteger();
+		hedgeExecutor = Executors.newCachedThreadPool(r -> daemon(r, "budget-hedge-" + count.incrementAndGet()));
+	}
+
+	private static Thread daemon(Runnable r, String name) {
+		Thread thread = new Thread(r, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	//the caller's thread runs the first attempt, a hedge runs on a thread of its own
+	<T> T call(Supplier<T> call) {
+		calls.increment();
+		addTokens(refill);
+		long delay = delayNanos;
+		if (delay < 0) {
+			return timed(call);
+		}
+		Race<T> race = new Race<>(call);
+		ScheduledFuture<?> hedge = timer.schedule(() -> fire(race), delay, TimeUnit.NANOSECONDS);
+		return race.runPrimary(hedge);
+	}
+
+	private void fire(Race<?> race) {
+		if (!takeToken()) {
+			throttled.increment();
+			registry.increment(HEDGES, "result", "throttled");
+			return;
+		}
+		if (!race.state.compareAndSet(PENDING, HEDGED)) {
+			addTokens(TOKEN);
+			return;
+		}
+		fired.increment();
+		registry.increment(HEDGES, "result", "fired");
+		hedgeExecutor.execute(race::runHedge);
+	}
+
+	private void addTokens(long amount) {
+		long current;
+		while ((current = tokens.get()) < MAX_TOKENS
+				&& !tokens.compareAndSet(current, Math.min(MAX_TOKENS, current + amount))) {
+		}
+	}
+
+	private boolean takeToken() {
+		long current;
+		while ((current = tokens.get()) >= TOKEN) {
+			if (tokens.compareAndSet(current, current - TOKEN)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	//status errors are answers like any other, only transport failures and aborts go unrecorded
+	private <T> T timed(Supplier<T> call) {
+		long start = System.nanoTime();
+		try {
+			T result = call.get();
+			record(System.nanoTime() - start);
+			return result;
+		} catch (RestClientResponseException e) {
+			record(System.nanoTime() - start);
+			throw e;
+		}
+	}
+
+	private void record(long nanos) {
+		latencies.recordValue(nanos);
+		if (samples.incrementAndGet() % RECOMPUTE_EVERY == 0) {
+			delayNanos = Math.max(minDelayNanos, latencies.getValueAtPercentile(percentile));
+			if (latencies.getTotalCount() >= WINDOW) {
+				latencies.reset();
+			}
+		}
+	}
+
+	long getDelayNanos() {
+		return delayNanos;
+	}
+
+	HedgingStats getStats() {
+		return new HedgingStats(calls.sum(), fired.sum(), won.sum(), throttled.sum());
+	}
+
+	@Override
+	public void close() {
+		timer.shutdownNow();
+		hedgeExecutor.shutdownNow();
+	}
+
+	private class Race<T> {
+		final Supplier<T> call;
+		final AtomicInteger state = new AtomicInteger(PENDING);
+		final AtomicInteger failures = new AtomicInteger();
+		final CompletableFuture<T> winner = new CompletableFuture<>();
+		final Cancellation primary = new Cancellation();
+		final Cancellation hedge = new Cancellation();
+
+		Race(Supplier<T> call) {
+			this.call = call;
+		}
+
+		T runPrimary(ScheduledFuture<?> scheduledHedge) {
+			T result = null;
+			RuntimeException error = null;
+			try {
+				result = primary.run(() -> timed(call));
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			if (state.compareAndSet(PENDING, SETTLED)) {
+				scheduledHedge.cancel(false);
+				if (error != null) {
+					throw error;
+				}
+				return result;
+			}
+			settle(result, error, hedge, false);
+			try {
+				return winner.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException)e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		void runHedge() {
+			T result = null;
+			RuntimeException error = null;
+			try {
+				result = hedge.run(() -> timed(call));
+			} catch (RuntimeException e) {
+				error = e;
+			}
+			settle(result, error, primary, true);
+		}
+
+		//the first answer wins, a transport failure only settles the race once both attempts failed
+		private void settle(T result, RuntimeException error, Cancellation other, boolean isHedge) {
+			boolean answered = error == null || error instanceof RestClientResponseException;
+			if (!answered && failures.incrementAndGet() < 2) {
+				return;
+			}
+			if (error == null ? winner.complete(result) : winner.completeExceptionally(error)) {
+				other.cancel();
+				if (isHedge && answered) {
+					won.increment();
+					registry.increment(HEDGES, "result", "won");
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package test.java.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.web.client.ResourceAccessException;
+import test.java.metrics.MetricsRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock(TimingLock.NAME)
+public class HedgerTest {
+
+	private MetricsRegistry registry;
+	private Hedger hedger;
+
+	@BeforeEach
+	public void setUp() {
+		registry = new MetricsRegistry();
+		hedger = new Hedger(95, 5, 0.05, registry);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		hedger.close();
+	}
+
+	@Test
+	public void call_BeforeDelayKnown_NeverHedges() {
+		for (int i = 0; i < 20; i++) {
+			assertEquals(hedger.call(() -> sleep(10, "slow")), "slow");
+		}
+		assertEquals(hedger.getStats().getFired(), 0L);
+		assertTrue(hedger.getDelayNanos() < 0);
+	}
+
+	@Test
+	public void call_SlowFirstAttempt_HedgeWinsAndAbortsIt() {
+		warmUp();
+		AtomicInteger attempts = new AtomicInteger();
+		long start = System.nanoTime();
+		String result = hedger.call(() -> attempts.incrementAndGet() == 1 ? untilCancelled(5000) : "hedge");
+		assertEquals(result, "hedge");
+		assertTrue(System.nanoTime() - start < 2_000_000_000L);
+		HedgingStats stats = hedger.getStats();
+		assertEquals(stats.getFired(), 1L);
+		assertEquals(stats.getWon(), 1L);
+		assertEquals(registry.snapshot().getCounter(MetricsRegistry.key(Hedger.HEDGES, "result", "won")), 1L);
+	}
+
+	@Test
+	public void call_FirstAttemptFailsAfterHedge_HedgeAnswers() {
+		warmUp();
+		AtomicInteger attempts = new AtomicInteger();
+		String result = hedger.call(() -> {
+			if (attempts.incrementAndGet() == 1) {
+				sleep(50, null);
+				throw new ResourceAccessException("connection reset");
+			}
+			return sleep(100, "hedge");
+		});
+		assertEquals(result, "hedge");
+	}
+
+	@Test
+	public void call_BothAttemptsFail_Throws() {
+		warmUp();
+		assertThrows(ResourceAccessException.class, () -> hedger.call(() -> {
+			sleep(20, null);
+			throw new ResourceAccessException("connection reset");
+		}));
+		assertEquals(hedger.getStats().getFired(), 1L);
+	}
+
+	@Test
+	public void call_AllSlow_ExtraLoadCapped() {
+		warmUp();
+		int slowCalls = 40;
+		for (int i = 0; i < slowCalls; i++) {
+			hedger.call(() -> sleep(15, "slow"));
+		}
+		HedgingStats stats = hedger.getStats();
+		//every call adds 0.05 of a hedge to the budget
+		assertTrue(stats.getFired() <= Math.ceil(stats.getCalls() * 0.05), stats.toString());
+		assertTrue(stats.getThrottled() > 0, stats.toString());
+	}
+
+	private void warmUp() {
+		Supplier<String> fast = () -> "fast";
+		for (int i = 0; i < 64; i++) {
+			hedger.call(fast);
+		}
+		assertTrue(hedger.getDelayNanos() >= 5_000_000L);
+	}
+
+	private static String untilCancelled(long maxMillis) {
+		long deadline = System.currentTimeMillis() + maxMillis;
+		while (System.currentTimeMillis() < deadline) {
+			if (Cancellation.isCurrentCancelled()) {
+				throw new ResourceAccessException("aborted");
+			}
+			sleep(1, null);
+		}
+		return "primary";
+	}
+
+	private static String sleep(long millis, String result) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return result;
+	}
+}
@@ -0,0 +1,39 @@
+package test.java.client;
+
+public class HedgingStats {
+	private final long calls;
+	private final long fired;
+	private final long won;
+	private final long throttled;
+
+	public HedgingStats(long calls, long fired, long won, long throttled) {
+		this.calls = calls;
+		this.fired = fired;
+		this.won = won;
+		this.throttled = throttled;
+	}
+
+	public long getCalls() {
+		return calls;
+	}
+
+	//duplicates sent because the first attempt ran past the hedge delay
+	public long getFired() {
+		return fired;
+	}
+
+	//hedges that answered before the attempt they duplicated
+	public long getWon() {
+		return won;
+	}
+
+	//hedges skipped because the extra load budget was spent
+	public long getThrottled() {
+		return throttled;
+	}
+
+	@Override
+	public String toString() {
+		return "HedgingStats[calls=" + calls + ", fired=" + fired + ", won=" + won + ", throttled=" + throttled + "]";
+	}
+}
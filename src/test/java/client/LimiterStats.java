@@ -0,0 +1,46 @@
+package test.java.client;
+
+public class LimiterStats {
+	private final int limit;
+	private final int inFlight;
+	private final int queueDepth;
+	private final long overloads;
+	private final long timeouts;
+
+	public LimiterStats(int limit, int inFlight, int queueDepth, long overloads, long timeouts) {
+		this.limit = limit;
+		this.inFlight = inFlight;
+		this.queueDepth = queueDepth;
+		this.overloads = overloads;
+		this.timeouts = timeouts;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	//calls waiting for a slot
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	//calls that failed, timed out or were refused by the server, each one shrinks the limit
+	public long getOverloads() {
+		return overloads;
+	}
+
+	//calls that gave up waiting for a slot
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	@Override
+	public String toString() {
+		return "LimiterStats[limit=" + limit + ", inFlight=" + inFlight + ", queueDepth=" + queueDepth
+				+ ", overloads=" + overloads + ", timeouts=" + timeouts + "]";
+	}
+}
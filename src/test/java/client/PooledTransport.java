@@ -0,0 +1,178 @@
+package test.java.client;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.HttpConnectionFactory;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Keep-alive connection pool shared by every request of a {@link Client}.
+ */
+public class PooledTransport implements Closeable {
+	private final PoolingHttpClientConnectionManager connectionManager;
+	private final CloseableHttpClient httpClient;
+	private final HttpComponentsClientHttpRequestFactory requestFactory;
+	private final RequestConfig requestConfig;
+	private final LongAdder created = new LongAdder();
+	private final LongAdder reused = new LongAdder();
+
+	public PooledTransport(ClientConfig config) {
+		HttpConnectionFactory<HttpRoute, ManagedHttpClientConnection> connectionFactory =
+				(route, connectionConfig) -> {
+					created.increment();
+					return ManagedHttpClientConnectionFactory.INSTANCE.create(route, connectionConfig);
+				};
+		connectionManager = new PoolingHttpClientConnectionManager(
+				RegistryBuilder.<ConnectionSocketFactory>create()
+						.register("http", new TimedPlainSocketFactory())
+						.register("https", new TimedSslSocketFactory())
+						.build(),
+				connectionFactory) {
+			@Override
+			public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+				return countReuse(super.requestConnection(route, state));
+			}
+		};
+		connectionManager.setMaxTotal(config.getMaxTotalConnections());
+		connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+
+		requestConfig = RequestConfig.custom()
+				.setConnectTimeout(config.getConnectTimeoutMillis())
+				.setSocketTimeout(config.getReadTimeoutMillis())
+				.setConnectionRequestTimeout(config.getConnectionRequestTimeoutMillis())
+				.build();
+		httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.evictExpiredConnections()
+				.evictIdleConnections(config.getMaxIdleMillis(), TimeUnit.MILLISECONDS)
+				.build();
+		requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient) {
+			@Override
+			protected void postProcessHttpRequest(HttpUriRequest request) {
+				Cancellation cancellation = Cancellation.current();
+				if (cancellation != null) {
+					cancellation.bind(request);
+				}
+				Deadline deadline = Deadline.current();
+				if (deadline != null) {
+					deadline.bind(request, requestConfig);
+				}
+			}
+		};
+	}
+
+	//a freshly created connection is leased closed, only pooled keep-alive connections are leased open
+	private ConnectionRequest countReuse(ConnectionRequest request) {
+		return new ConnectionRequest() {
+			@Override
+			public HttpClientConnection get(long timeout, TimeUnit unit)
+					throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+				HttpClientConnection connection = request.get(timeout, unit);
+				if (connection.isOpen()) {
+					reused.increment();
+				}
+				return connection;
+			}
+
+			@Override
+			public boolean cancel() {
+				return request.cancel();
+			}
+		};
+	}
+
+	public ClientHttpRequestFactory getRequestFactory() {
+		return requestFactory;
+	}
+
+	public TransportStats getStats() {
+		PoolStats stats = connectionManager.getTotalStats();
+		return new TransportStats(stats.getLeased(), stats.getAvailable(), stats.getPending(),
+				created.sum(), reused.sum());
+	}
+
+	@Override
+	public void close() {
+		try {
+			httpClient.close();
+		} catch (IOException e) {
+
+		}
+	}
+
+	private static class TimedPlainSocketFactory extends PlainConnectionSocketFactory {
+		@Override
+		public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+				InetSocketAddress localAddress, HttpContext context) throws IOException {
+			long start = System.nanoTime();
+			try {
+				return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+			} finally {
+				CallTiming timing = CallTiming.current();
+				if (timing != null) {
+					timing.connectNanos += System.nanoTime() - start;
+				}
+			}
+		}
+	}
+
+	//connectSocket runs the TLS handshake through createLayeredSocket, so connect time includes tls time
+	private static class TimedSslSocketFactory extends SSLConnectionSocketFactory {
+		TimedSslSocketFactory() {
+			super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+		}
+
+		@Override
+		public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+				InetSocketAddress localAddress, HttpContext context) throws IOException {
+			long start = System.nanoTime();
+			try {
+				return super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+			} finally {
+				CallTiming timing = CallTiming.current();
+				if (timing != null) {
+					timing.connectNanos += System.nanoTime() - start;
+				}
+			}
+		}
+
+		@Override
+		public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+			long start = System.nanoTime();
+			try {
+				return super.createLayeredSocket(socket, target, port, context);
+			} finally {
+				CallTiming timing = CallTiming.current();
+				if (timing != null) {
+					timing.tlsNanos += System.nanoTime() - start;
+				}
+			}
+		}
+	}
+}
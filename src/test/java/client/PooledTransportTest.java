@@ -0,0 +1,50 @@
+package test.java.client;
+
+import java.io.IOException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PooledTransportTest {
+
+	private static BudgetStubServer server;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = BudgetStubServer.start();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		server.close();
+	}
+
+	@Test
+	public void getBudget_RepeatedCalls_ReuseOneConnection() {
+		try (Client client = new Client()) {
+			for (int i = 0; i < 10; i++) {
+				client.getBudget(String.format(server.getBaseUrl(), "02-10-2019", 20));
+			}
+			TransportStats stats = client.getTransportStats();
+			assertEquals(stats.getCreated(), 1L);
+			assertEquals(stats.getReused(), 9L);
+			assertEquals(stats.getLeased(), 0);
+			assertEquals(stats.getIdle(), 1);
+		}
+	}
+
+	@Test
+	public void getError_RepeatedCalls_ReuseOneConnection() {
+		try (Client client = new Client()) {
+			for (int i = 0; i < 10; i++) {
+				client.getError(String.format(server.getBaseUrl(), "02-10-2019", "twenty"));
+			}
+			TransportStats stats = client.getTransportStats();
+			assertEquals(stats.getCreated(), 1L);
+			assertEquals(stats.getReused(), 9L);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package test.java.client;
+
+import java.util.Objects;
+
+public class Query {
+	private final String startDate;
+	private final String numberOfDays;
+
+	public Query(String startDate, String numberOfDays) {
+		this.startDate = startDate;
+		this.numberOfDays = numberOfDays;
+	}
+
+	public static Query of(String startDate, int numberOfDays) {
+		return new Query(startDate, Integer.toString(numberOfDays));
+	}
+
+	public String getStartDate() {
+		return startDate;
+	}
+
+	public String getNumberOfDays() {
+		return numberOfDays;
+	}
+
+	public String toUrl(String baseUrl) {
+		return String.format(baseUrl, startDate, numberOfDays);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof Query)) {
+			return false;
+		}
+		Query other = (Query)o;
+		return Objects.equals(startDate, other.startDate) && Objects.equals(numberOfDays, other.numberOfDays);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(startDate, numberOfDays);
+	}
+
+	@Override
+	public String toString() {
+		return "Query[startDate=" + startDate + ", numberOfDays=" + numberOfDays + "]";
+	}
+}
@@ -0,0 +1,66 @@
+package test.java.client;
+
+/**
+ * Canonical cache key for a budget URL. Spellings the API treats alike share a key: a lone
+ * "-", ".", "," or "/" between date fields, and leading zeroes in numberOfDays.
+ */
+final class QueryKey {
+	private static final String START_DATE = "startDate=";
+	private static final String NUM_DAYS = "numberOfDays=";
+
+	private QueryKey() {
+	}
+
+	static String normalize(String url) {
+		int query = url.indexOf('?');
+		if (query < 0) {
+			return url;
+		}
+		String startDate = null;
+		String numberOfDays = null;
+		StringBuilder other = new StringBuilder();
+		for (String param : url.substring(query + 1).split("&", -1)) {
+			if (param.startsWith(START_DATE) && startDate == null) {
+				startDate = param.substring(START_DATE.length());
+			} else if (param.startsWith(NUM_DAYS) && numberOfDays == null) {
+				numberOfDays = param.substring(NUM_DAYS.length());
+			} else {
+				other.append('&').append(param);
+			}
+		}
+		if (startDate == null || numberOfDays == null) {
+			return url;
+		}
+		return url.substring(0, query + 1) + START_DATE + normalizeDate(startDate)
+				+ '&' + NUM_DAYS + normalizeDays(numberOfDays) + other;
+	}
+
+	//runs of several delimiters are kept as-is, "/-" before a field reads as a sign
+	static String normalizeDate(String startDate) {
+		char[] chars = startDate.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			if (isDelimiter(chars[i]) && (i == 0 || !isDelimiter(chars[i - 1]))
+					&& (i == chars.length - 1 || !isDelimiter(chars[i + 1]))) {
+				chars[i] = '/';
+			}
+		}
+		return new String(chars);
+	}
+
+	static String normalizeDays(String numberOfDays) {
+		int i = 0;
+		while (i < numberOfDays.length() - 1 && numberOfDays.charAt(i) == '0') {
+			i++;
+		}
+		for (int j = i; j < numberOfDays.length(); j++) {
+			if (!Character.isDigit(numberOfDays.charAt(j))) {
+				return numberOfDays;
+			}
+		}
+		return numberOfDays.substring(i);
+	}
+
+	private static boolean isDelimiter(char c) {
+		return c == '/' || c == '-' || c == '.' || c == ',';
+	}
+}
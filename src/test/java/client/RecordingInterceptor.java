@@ -0,0 +1,38 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import test.java.replay.ResponseRecorder;
+
+//reads every response body once, appends it to the store and hands the caller an in-memory copy
+class RecordingInterceptor implements ClientHttpRequestInterceptor {
+	private final ResponseRecorder recorder;
+
+	RecordingInterceptor(ResponseRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] requestBody, ClientHttpRequestExecution execution)
+			throws IOException {
+		int status;
+		String contentType;
+		byte[] body;
+		try (ClientHttpResponse response = execution.execute(request, requestBody)) {
+			status = response.getRawStatusCode();
+			contentType = response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+			try (InputStream in = response.getBody()) {
+				body = StreamUtils.copyToByteArray(in);
+			}
+		}
+		recorder.record(ResponseRecorder.keyOf(request.getURI()), status, contentType, body);
+		return new StoredResponse(status, contentType, ByteBuffer.wrap(body));
+	}
+}
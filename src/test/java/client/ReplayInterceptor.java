@@ -0,0 +1,29 @@
+package test.java.client;
+
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import test.java.replay.ResponseReplay;
+import test.java.replay.ResponseRecorder;
+
+//answers from the response store and never calls the next execution, so nothing reaches the network
+class ReplayInterceptor implements ClientHttpRequestInterceptor {
+	private final ResponseReplay replay;
+
+	ReplayInterceptor(ResponseReplay replay) {
+		this.replay = replay;
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] requestBody, ClientHttpRequestExecution execution)
+			throws IOException {
+		String key = ResponseRecorder.keyOf(request.getURI());
+		int record = replay.find(key);
+		if (record < 0) {
+			throw new IOException("No recorded response for " + key);
+		}
+		return new StoredResponse(replay.status(record), replay.contentType(record), replay.body(record));
+	}
+}
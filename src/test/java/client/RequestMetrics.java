@@ -0,0 +1,106 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+import test.java.metrics.MetricsRegistry;
+
+/**
+ * Records every network call of a {@link Client}: a request counter and a total latency histogram
+ * tagged by endpoint, status and outcome, and per-phase histograms tagged by endpoint.
+ */
+class RequestMetrics {
+	static final String REQUESTS = "client.requests";
+	static final String LATENCY = "client.latency";
+	static final String PHASE = "client.phase";
+	//calls made by Client.warmUp, kept apart so cold starts do not skew steady-state latency
+	static final String WARM_UP_REQUESTS = "client.warmup.requests";
+	static final String WARM_UP_LATENCY = "client.warmup.latency";
+	static final String WARM_UP_PHASE = "client.warmup.phase";
+	//the stages of a WarmUpReport, tagged by stage
+	static final String WARM_UP_COLD_START = "client.warmup.coldstart";
+
+	private static final ThreadLocal<Boolean> WARMING_UP = new ThreadLocal<>();
+
+	private final MetricsRegistry registry;
+
+	RequestMetrics(MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	ClientHttpRequestInterceptor exchangeInterceptor() {
+		return (request, body, execution) -> {
+			long start = System.nanoTime();
+			try {
+				return execution.execute(request, body);
+			} finally {
+				CallTiming timing = CallTiming.current();
+				if (timing != null) {
+					timing.exchangeNanos += System.nanoTime() - start;
+				}
+			}
+		};
+	}
+
+	static <T> ResponseExtractor<T> timedDecode(ResponseExtractor<T> extractor) {
+		return response -> decode(extractor, response);
+	}
+
+	private static <T> T decode(ResponseExtractor<T> extractor, ClientHttpResponse response) throws IOException {
+		long start = System.nanoTime();
+		try {
+			return extractor.extractData(response);
+		} finally {
+			CallTiming timing = CallTiming.current();
+			if (timing != null) {
+				timing.decodeNanos += System.nanoTime() - start;
+			}
+		}
+	}
+
+	static <T> T warmingUp(Supplier<T> call) {
+		WARMING_UP.set(Boolean.TRUE);
+		try {
+			return call.get();
+		} finally {
+			WARMING_UP.remove();
+		}
+	}
+
+	//status 0 means no response was received
+	void record(String endpoint, int status, CallTiming timing) {
+		boolean warmUp = WARMING_UP.get() != null;
+		String requests = warmUp ? WARM_UP_REQUESTS : REQUESTS;
+		String latency = warmUp ? WARM_UP_LATENCY : LATENCY;
+		String phase = warmUp ? WARM_UP_PHASE : PHASE;
+		String statusTag = status == 0 ? "none" : Integer.toString(status);
+		String outcome = status != 0 ? outcome(status)
+				: Cancellation.isCurrentCancelled() ? "cancelled" : Deadline.isCurrentExpired() ? "timeout" : outcome(status);
+		registry.increment(requests, "endpoint", endpoint, "status", statusTag, "outcome", outcome);
+		registry.recordNanos(timing.totalNanos, latency, "endpoint", endpoint, "status", statusTag, "outcome", outcome);
+		if (timing.connectNanos > 0) {
+			registry.recordNanos(timing.connectNanos - timing.tlsNanos, phase, "endpoint", endpoint, "phase", "connect");
+		}
+		if (timing.tlsNanos > 0) {
+			registry.recordNanos(timing.tlsNanos, phase, "endpoint", endpoint, "phase", "tls");
+		}
+		if (timing.exchangeNanos > 0) {
+			registry.recordNanos(timing.exchangeNanos - timing.connectNanos, phase, "endpoint", endpoint, "phase", "ttfb");
+		}
+		if (timing.decodeNanos > 0) {
+			registry.recordNanos(timing.decodeNanos, phase, "endpoint", endpoint, "phase", "decode");
+		}
+	}
+
+	static String outcome(int status) {
+		if (status == 0) {
+			return "exception";
+		}
+		if (status < 400) {
+			return "success";
+		}
+		return status < 500 ? "client_error" : "server_error";
+	}
+}
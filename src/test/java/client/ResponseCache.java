@@ -0,0 +1,125 @@
+package test.java.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU of decoded responses with an optional time to live.
+ */
+class ResponseCache {
+	private static final long NEVER = 0;
+
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LongSupplier ticker;
+	private final LinkedHashMap<String, Entry> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	ResponseCache(int maxEntries, long ttlMillis) {
+		this(maxEntries, ttlMillis, System::nanoTime);
+	}
+
+	ResponseCache(int maxEntries, long ttlMillis, LongSupplier ticker) {
+		this.maxEntries = maxEntries;
+		this.ttlNanos = ttlMillis * 1_000_000L;
+		this.ticker = ticker;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() > ResponseCache.this.maxEntries) {
+					evictions.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	//the loader runs outside the lock, so two threads missing on one key may both load it
+	@SuppressWarnings("unchecked")
+	<T> T get(String key, Supplier<T> loader) {
+		Object value = lookup(key);
+		if (value != null) {
+			hits.increment();
+			return (T)value;
+		}
+		misses.increment();
+		T loaded = loader.get();
+		if (loaded != null) {
+			synchronized (entries) {
+				entries.put(key, new Entry(loaded, expiry()));
+			}
+		}
+		return loaded;
+	}
+
+	private Object lookup(String key) {
+		synchronized (entries) {
+			Entry entry = entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (isExpired(entry, ticker.getAsLong())) {
+				entries.remove(key);
+				evictions.increment();
+				return null;
+			}
+			return entry.value;
+		}
+	}
+
+	void purgeExpired() {
+		long now = ticker.getAsLong();
+		synchronized (entries) {
+			Iterator<Entry> it = entries.values().iterator();
+			while (it.hasNext()) {
+				if (isExpired(it.next(), now)) {
+					it.remove();
+					evictions.increment();
+				}
+			}
+		}
+	}
+
+	private long expiry() {
+		if (ttlNanos <= 0) {
+			return NEVER;
+		}
+		long expiresAt = ticker.getAsLong() + ttlNanos;
+		return expiresAt == NEVER ? 1 : expiresAt;
+	}
+
+	private static boolean isExpired(Entry entry, long now) {
+		return entry.expiresAt != NEVER && now - entry.expiresAt >= 0;
+	}
+
+	void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	CacheStats getStats() {
+		int size;
+		synchronized (entries) {
+			size = entries.size();
+		}
+		return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+	}
+
+	private static class Entry {
+		final Object value;
+		final long expiresAt;
+
+		Entry(Object value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class ResponseCacheTest {
+
+	private static BudgetStubServer server;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = BudgetStubServer.start();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		server.close();
+	}
+
+	@Test
+	public void normalize_DelimiterSpellings_ShareKey() {
+		String base = "http://localhost/?startDate=%s&numberOfDays=%s";
+		String key = QueryKey.normalize(String.format(base, "02/10/2019", "20"));
+		assertEquals(QueryKey.normalize(String.format(base, "02-10-2019", "20")), key);
+		assertEquals(QueryKey.normalize(String.format(base, "02.10.2019", "020")), key);
+		assertEquals(QueryKey.normalize(String.format(base, "02,10,2019", "00020")), key);
+	}
+
+	@Test
+	public void normalize_DistinctInputs_KeepDistinctKeys() {
+		String base = "http://localhost/?startDate=%s&numberOfDays=%s";
+		assertNotEquals(QueryKey.normalize(String.format(base, "01/01/-2019", "20")),
+				QueryKey.normalize(String.format(base, "01/01//2019", "20")));
+		assertNotEquals(QueryKey.normalize(String.format(base, "02/10/2019", "20")),
+				QueryKey.normalize(String.format(base, "02/10/2019", "2")));
+		assertNotEquals(QueryKey.normalize(String.format(base, "02/10/2019", "twenty")),
+				QueryKey.normalize(String.format(base, "02/10/2019", "020")));
+	}
+
+	@Test
+	public void get_FullCache_EvictsLeastRecentlyUsed() {
+		ResponseCache cache = new ResponseCache(2, 0);
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("a", loads::incrementAndGet);
+		cache.get("b", loads::incrementAndGet);
+		cache.get("a", loads::incrementAndGet);
+		cache.get("c", loads::incrementAndGet);
+		cache.get("a", loads::incrementAndGet);
+		cache.get("b", loads::incrementAndGet);
+		assertEquals(loads.get(), 4);
+		CacheStats stats = cache.getStats();
+		assertEquals(stats.getHits(), 2L);
+		assertEquals(stats.getMisses(), 4L);
+		assertEquals(stats.getEvictions(), 2L);
+		assertEquals(stats.getSize(), 2);
+	}
+
+	@Test
+	public void get_ExpiredEntry_Reloads() {
+		AtomicLong now = new AtomicLong();
+		ResponseCache cache = new ResponseCache(10, 5, now::get);
+		AtomicInteger loads = new AtomicInteger();
+		cache.get("a", loads::incrementAndGet);
+		now.addAndGet(4_000_000L);
+		cache.get("a", loads::incrementAndGet);
+		now.addAndGet(1_000_000L);
+		cache.get("a", loads::incrementAndGet);
+		assertEquals(loads.get(), 2);
+		assertEquals(cache.getStats().getEvictions(), 1L);
+	}
+
+	@Test
+	public void client_DelimiterVariants_OneNetworkCall() {
+		ClientConfig config = new ClientConfig();
+		config.setCacheMaxEntries(100);
+		try (Client client = new Client(config)) {
+			assertEquals(client.getBudget(String.format(server.getBaseUrl(), "02-10-2019", 20)).getStatusCode(), HttpStatus.OK);
+			assertEquals(client.getBudget(String.format(server.getBaseUrl(), "02/10/2019", 20)).getStatusCode(), HttpStatus.OK);
+			assertEquals(client.getError(String.format(server.getBaseUrl(), "02/10/2019", 0)).getError(), "Invalid numberOfDays");
+			assertEquals(client.getError(String.format(server.getBaseUrl(), "02.10.2019", 0)).getError(), "Invalid numberOfDays");
+			assertEquals(client.getCacheStats().getHits(), 2L);
+			assertEquals(client.getCacheStats().getMisses(), 2L);
+			assertEquals(client.getTransportStats().getCreated() + client.getTransportStats().getReused(), 2L);
+		}
+	}
+}
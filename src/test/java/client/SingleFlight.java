@@ -0,0 +1,66 @@
+package test.java.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers with the same key share one in-flight call. The key is forgotten as
+ * soon as the call completes, so unlike {@link ResponseCache} nothing is kept after delivery.
+ */
+class SingleFlight {
+	private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder upstreamCalls = new LongAdder();
+	private final LongAdder savedCalls = new LongAdder();
+
+	@SuppressWarnings("unchecked")
+	<T> T execute(String key, Supplier<T> call) {
+		calls.increment();
+		CompletableFuture<Object> mine = new CompletableFuture<>();
+		CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+		if (leader != null) {
+			savedCalls.increment();
+			try {
+				return (T)leader.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException)e.getCause();
+				}
+				throw e;
+			}
+		}
+		upstreamCalls.increment();
+		try {
+			T result = call.get();
+			mine.complete(result);
+			return result;
+		} catch (RuntimeException | Error e) {
+			mine.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, mine);
+		}
+	}
+
+	//queries a batch entry point folded into others before dispatch
+	void recordDeduplicated(int duplicates) {
+		calls.add(duplicates);
+		savedCalls.add(duplicates);
+	}
+
+	void recordUpstream(int count) {
+		calls.add(count);
+		upstreamCalls.add(count);
+	}
+
+	int getInFlight() {
+		return inFlight.size();
+	}
+
+	CoalescingStats getStats() {
+		return new CoalescingStats(calls.sum(), upstreamCalls.sum(), savedCalls.sum());
+	}
+}
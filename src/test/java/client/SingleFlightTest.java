@@ -0,0 +1,121 @@
+package test.java.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import test.java.pojo.Budget;
+import test.java.pojo.Money;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingleFlightTest {
+
+	private static BudgetStubServer server;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = BudgetStubServer.start();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		server.close();
+	}
+
+	@Test
+	public void execute_ConcurrentSameKey_OneUpstreamCall() throws Exception {
+		SingleFlight singleFlight = new SingleFlight();
+		AtomicInteger upstream = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+				upstream.incrementAndGet();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return "value";
+			}));
+			while (singleFlight.getInFlight() == 0) {
+				Thread.yield();
+			}
+			List<Future<String>> followers = new ArrayList<>();
+			for (int i = 0; i < 7; i++) {
+				followers.add(executor.submit(() -> singleFlight.execute("key", () -> {
+					upstream.incrementAndGet();
+					return "other";
+				})));
+			}
+			while (singleFlight.getStats().getSavedCalls() < 7) {
+				Thread.yield();
+			}
+			release.countDown();
+			assertEquals(leader.get(5, TimeUnit.SECONDS), "value");
+			for (Future<String> follower : followers) {
+				assertEquals(follower.get(5, TimeUnit.SECONDS), "value");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(upstream.get(), 1);
+		assertEquals(singleFlight.getInFlight(), 0);
+		assertEquals(singleFlight.getStats().getUpstreamCalls(), 1L);
+	}
+
+	@Test
+	public void execute_AfterCompletion_CallsAgain() {
+		SingleFlight singleFlight = new SingleFlight();
+		AtomicInteger upstream = new AtomicInteger();
+		singleFlight.execute("key", upstream::incrementAndGet);
+		singleFlight.execute("key", upstream::incrementAndGet);
+		assertEquals(upstream.get(), 2);
+	}
+
+	@Test
+	public void execute_FailingCall_RethrowsAndForgets() {
+		SingleFlight singleFlight = new SingleFlight();
+		assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+			throw new IllegalStateException();
+		}));
+		assertEquals(singleFlight.getInFlight(), 0);
+	}
+
+	@Test
+	public void getBudgetsDeduplicated_RepeatedQueries_SentOnce() {
+		ClientConfig config = new ClientConfig();
+		config.setBaseUrl(server.getBaseUrl());
+		config.setCoalescing(true);
+		try (Client client = new Client(config)) {
+			List<Query> queries = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				queries.add(Query.of(i % 2 == 0 ? "01/01/2019" : "01-01-2019", 31 + i % 5));
+			}
+			List<CompletableFuture<ResponseEntity<Budget>>> results = client.getBudgetsDeduplicated(queries);
+			assertEquals(results.size(), 100);
+			assertEquals(results.get(0).join().getBody().getTotalCost(), Money.parse("3.25"));
+			assertEquals(results.get(1).join().getBody().getTotalCost(), Money.parse("3.30"));
+			assertSame(results.get(0), results.get(5));
+			CoalescingStats stats = client.getCoalescingStats();
+			assertEquals(stats.getCalls(), 100L);
+			assertEquals(stats.getUpstreamCalls(), 5L);
+			assertEquals(stats.getSavedCalls(), 95L);
+			assertEquals(client.getTransportStats().getCreated() + client.getTransportStats().getReused(), 5L);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package test.java.client;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+//a response whose body is already in memory, either just recorded or mapped from a response store
+class StoredResponse implements ClientHttpResponse {
+	private final int status;
+	private final HttpHeaders headers;
+	private final ByteBuffer body;
+
+	StoredResponse(int status, String contentType, ByteBuffer body) {
+		this.status = status;
+		this.body = body;
+		headers = new HttpHeaders();
+		if (contentType != null) {
+			headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+		}
+		headers.setContentLength(body.remaining());
+	}
+
+	@Override
+	public HttpStatus getStatusCode() {
+		return HttpStatus.valueOf(status);
+	}
+
+	@Override
+	public int getRawStatusCode() {
+		return status;
+	}
+
+	@Override
+	public String getStatusText() {
+		HttpStatus resolved = HttpStatus.resolve(status);
+		return resolved == null ? "" : resolved.getReasonPhrase();
+	}
+
+	@Override
+	public HttpHeaders getHeaders() {
+		return headers;
+	}
+
+	@Override
+	public InputStream getBody() {
+		return new ByteBufferInputStream(body.duplicate());
+	}
+
+	@Override
+	public void close() {
+
+	}
+
+	private static class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(len, buffer.remaining());
+			buffer.get(b, off, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package test.java.client;
+
+/**
+ * The {@code @ResourceLock} held by test classes whose assertions depend on wall-clock timing. Each
+ * such class also runs its own methods one at a time, so a sleep or a measured delay is never
+ * stretched by another timing test competing for the CPU.
+ */
+public final class TimingLock {
+	public static final String NAME = "timing";
+
+	private TimingLock() {
+	}
+}
@@ -0,0 +1,43 @@
+package test.java.client;
+
+public class TransportStats {
+	private final int leased;
+	private final int idle;
+	private final int pending;
+	private final long created;
+	private final long reused;
+
+	public TransportStats(int leased, int idle, int pending, long created, long reused) {
+		this.leased = leased;
+		this.idle = idle;
+		this.pending = pending;
+		this.created = created;
+		this.reused = reused;
+	}
+
+	public int getLeased() {
+		return leased;
+	}
+
+	public int getIdle() {
+		return idle;
+	}
+
+	public int getPending() {
+		return pending;
+	}
+
+	public long getCreated() {
+		return created;
+	}
+
+	public long getReused() {
+		return reused;
+	}
+
+	@Override
+	public String toString() {
+		return "TransportStats[leased=" + leased + ", idle=" + idle + ", pending=" + pending
+				+ ", created=" + created + ", reused=" + reused + "]";
+	}
+}
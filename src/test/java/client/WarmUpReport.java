@@ -0,0 +1,55 @@
+package test.java.client;
+
+public class WarmUpReport {
+	private final long constructionNanos;
+	private final long decodeWarmUpNanos;
+	private final long firstRequestNanos;
+	private final long warmRequestNanos;
+	private final long connectionsOpened;
+	private final int failures;
+
+	public WarmUpReport(long constructionNanos, long decodeWarmUpNanos, long firstRequestNanos, long warmRequestNanos,
+			long connectionsOpened, int failures) {
+		this.constructionNanos = constructionNanos;
+		this.decodeWarmUpNanos = decodeWarmUpNanos;
+		this.firstRequestNanos = firstRequestNanos;
+		this.warmRequestNanos = warmRequestNanos;
+		this.connectionsOpened = connectionsOpened;
+		this.failures = failures;
+	}
+
+	//building the Client: RestTemplates, converters, connection pool and executors
+	public long getConstructionNanos() {
+		return constructionNanos;
+	}
+
+	//decoding canned bodies until the Jackson and converter paths are resolved and compiled
+	public long getDecodeWarmUpNanos() {
+		return decodeWarmUpNanos;
+	}
+
+	//the first network call, paying for connect, TLS and whatever decode warm-up missed
+	public long getFirstRequestNanos() {
+		return firstRequestNanos;
+	}
+
+	//median of the concurrent calls that followed, the closest warm-up gets to steady state
+	public long getWarmRequestNanos() {
+		return warmRequestNanos;
+	}
+
+	public long getConnectionsOpened() {
+		return connectionsOpened;
+	}
+
+	public int getFailures() {
+		return failures;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("WarmUpReport[construction=%.1fms, decodeWarmUp=%.1fms, firstRequest=%.2fms, warmRequest=%.2fms, "
+				+ "connectionsOpened=%d, failures=%d]", constructionNanos / 1e6, decodeWarmUpNanos / 1e6,
+				firstRequestNanos / 1e6, warmRequestNanos / 1e6, connectionsOpened, failures);
+	}
+}
@@ -0,0 +1,43 @@
+package test.java.corpus;
+
+import java.util.Objects;
+import test.java.client.Query;
+import test.java.pricing.ReferenceModel;
+
+public class GoldenCase {
+	private final Query query;
+	private final ReferenceModel.Answer expected;
+
+	public GoldenCase(Query query, ReferenceModel.Answer expected) {
+		this.query = query;
+		this.expected = expected;
+	}
+
+	public Query getQuery() {
+		return query;
+	}
+
+	public ReferenceModel.Answer getExpected() {
+		return expected;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof GoldenCase)) {
+			return false;
+		}
+		GoldenCase other = (GoldenCase)o;
+		return query.equals(other.query) && expected.equals(other.expected);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(query, expected);
+	}
+
+	@Override
+	public String toString() {
+		return "GoldenCase[" + query + ", status=" + expected.getStatus()
+				+ (expected.isOk() ? ", costCents=" + expected.getCostCents() : ", error=" + expected.getError()) + "]";
+	}
+}
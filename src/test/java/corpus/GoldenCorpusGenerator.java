@@ -0,0 +1,36 @@
+package test.java.corpus;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+import test.java.client.Query;
+import test.java.fuzz.InputGenerator;
+import test.java.oracle.ReadmeOracle;
+import test.java.pricing.ReferenceModel;
+
+/**
+ * Writes a corpus of generated inputs with the answers {@link ReadmeOracle} gives for them, so a run
+ * against the stub checks {@link ReferenceModel} rather than comparing it with itself.
+ * Run with -Dcorpus.file=target/golden.bin.gz -Dcorpus.cases=500000 -Dcorpus.seed=1
+ */
+public class GoldenCorpusGenerator {
+
+	public static long generate(Path file, long cases, long seed) throws IOException {
+		InputGenerator generator = new InputGenerator();
+		SplittableRandom random = new SplittableRandom(seed);
+		try (GoldenCorpusWriter writer = new GoldenCorpusWriter(file)) {
+			for (long i = 0; i < cases; i++) {
+				Query query = generator.next(random);
+				writer.write(new GoldenCase(query, ReadmeOracle.answer(query.getStartDate(), query.getNumberOfDays())));
+			}
+			return writer.getWritten();
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		Path file = Paths.get(System.getProperty("corpus.file", "target/golden.bin.gz"));
+		long written = generate(file, Long.getLong("corpus.cases", 100_000), Long.getLong("corpus.seed", 1));
+		System.out.println("Wrote " + written + " golden cases to " + file);
+	}
+}
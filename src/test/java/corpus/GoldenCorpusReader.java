@@ -0,0 +1,133 @@
+package test.java.corpus;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import test.java.client.Query;
+import test.java.pricing.ReferenceModel;
+
+/**
+ * Reads a corpus written by {@link GoldenCorpusWriter} one case at a time, so memory use depends
+ * on the chunk size the caller asks for and not on the size of the corpus.
+ */
+public class GoldenCorpusReader implements Closeable {
+	private final DataInputStream in;
+	private final List<String> errors = new ArrayList<>();
+	private boolean ended;
+
+	public GoldenCorpusReader(Path file) throws IOException {
+		InputStream stream = Files.newInputStream(file);
+		if (file.getFileName().toString().endsWith(".gz")) {
+			stream = new GZIPInputStream(stream, 1 << 16);
+		}
+		in = new DataInputStream(new BufferedInputStream(stream, 1 << 16));
+		try {
+			if (in.readInt() != GoldenCorpusWriter.MAGIC) {
+				throw new IOException("Not a golden corpus: " + file);
+			}
+			int version = in.readUnsignedByte();
+			if (version != GoldenCorpusWriter.VERSION) {
+				throw new IOException("Unsupported golden corpus version " + version + ": " + file);
+			}
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the next case, or null once the end marker was read
+	 * @throws EOFException if the corpus was cut short
+	 */
+	public GoldenCase next() throws IOException {
+		if (ended) {
+			return null;
+		}
+		int marker = in.readUnsignedByte();
+		if (marker == GoldenCorpusWriter.END) {
+			ended = true;
+			return null;
+		}
+		if (marker != GoldenCorpusWriter.CASE) {
+			throw new IOException("Corrupt golden corpus, unexpected marker " + marker);
+		}
+		Query query = new Query(in.readUTF(), in.readUTF());
+		int status = in.readUnsignedShort();
+		long tag = readVarLong();
+		String error;
+		if (tag == GoldenCorpusWriter.TAG_COST) {
+			return new GoldenCase(query, new ReferenceModel.Answer(status, null, readVarLong()));
+		} else if (tag == GoldenCorpusWriter.TAG_NEW_ERROR) {
+			error = in.readUTF();
+			errors.add(error);
+		} else if (tag - GoldenCorpusWriter.TAG_FIRST_ERROR < errors.size()) {
+			error = errors.get((int)(tag - GoldenCorpusWriter.TAG_FIRST_ERROR));
+		} else {
+			throw new IOException("Corrupt golden corpus, unknown error number " + (tag - GoldenCorpusWriter.TAG_FIRST_ERROR));
+		}
+		return new GoldenCase(query, new ReferenceModel.Answer(status, error, 0));
+	}
+
+	private long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (long)(b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Corrupt golden corpus, varint too long");
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	//lazily reads chunkSize cases per element, closing the stream closes the file
+	public static Stream<List<GoldenCase>> chunks(Path file, int chunkSize) throws IOException {
+		GoldenCorpusReader reader = new GoldenCorpusReader(file);
+		Spliterator<List<GoldenCase>> spliterator = new Spliterators.AbstractSpliterator<List<GoldenCase>>(
+				Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+			@Override
+			public boolean tryAdvance(Consumer<? super List<GoldenCase>> action) {
+				List<GoldenCase> chunk = new ArrayList<>(chunkSize);
+				try {
+					GoldenCase next;
+					while (chunk.size() < chunkSize && (next = reader.next()) != null) {
+						chunk.add(next);
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				if (chunk.isEmpty()) {
+					return false;
+				}
+				action.accept(chunk);
+				return true;
+			}
+		};
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try {
+				reader.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+}
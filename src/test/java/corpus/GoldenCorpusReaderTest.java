@@ -0,0 +1,104 @@
+package test.java.corpus;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import test.java.client.Query;
+import test.java.fuzz.InputGenerator;
+import test.java.pricing.ReferenceModel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GoldenCorpusReaderTest {
+
+	private Path plain;
+	private Path gzipped;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		plain = Files.createTempFile("golden", ".bin");
+		gzipped = Files.createTempFile("golden", ".bin.gz");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(plain);
+		Files.deleteIfExists(gzipped);
+	}
+
+	@Test
+	public void next_WrittenCases_ReadBackInOrder() throws IOException {
+		List<GoldenCase> cases = cases(5000);
+		for (Path file : new Path[] {plain, gzipped}) {
+			try (GoldenCorpusWriter writer = new GoldenCorpusWriter(file)) {
+				for (GoldenCase goldenCase : cases) {
+					writer.write(goldenCase);
+				}
+			}
+			List<GoldenCase> read = new ArrayList<>();
+			try (GoldenCorpusReader reader = new GoldenCorpusReader(file)) {
+				GoldenCase next;
+				while ((next = reader.next()) != null) {
+					read.add(next);
+				}
+			}
+			assertEquals(read, cases);
+		}
+		assertTrue(Files.size(gzipped) < Files.size(plain));
+	}
+
+	@Test
+	public void next_CostsAndErrors_Compact() throws IOException {
+		int count = 10_000;
+		assertEquals(GoldenCorpusGenerator.generate(plain, count, 7), (long)count);
+		//two short strings, a status and either a varint cost or an error number per case
+		assertTrue(Files.size(plain) < count * 24L, Files.size(plain) + " bytes");
+	}
+
+	@Test
+	public void chunks_SplitsIntoFullChunksAndRemainder() throws IOException {
+		GoldenCorpusGenerator.generate(gzipped, 2500, 3);
+		try (Stream<List<GoldenCase>> chunks = GoldenCorpusReader.chunks(gzipped, 1000)) {
+			assertEquals(chunks.map(List::size).collect(Collectors.toList()), Arrays.asList(1000, 1000, 500));
+		}
+	}
+
+	@Test
+	public void next_TruncatedCorpus_Throws() throws IOException {
+		GoldenCorpusGenerator.generate(plain, 100, 5);
+		try (FileChannel channel = FileChannel.open(plain, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 1);
+		}
+		try (GoldenCorpusReader reader = new GoldenCorpusReader(plain)) {
+			assertThrows(EOFException.class, () -> {
+				while (reader.next() != null) {
+				}
+			});
+		}
+	}
+
+	private static List<GoldenCase> cases(int count) {
+		InputGenerator generator = new InputGenerator();
+		SplittableRandom random = new SplittableRandom(11);
+		List<GoldenCase> cases = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Query query = generator.next(random);
+			cases.add(new GoldenCase(query, ReferenceModel.answer(query.getStartDate(), query.getNumberOfDays())));
+		}
+		return cases;
+	}
+}
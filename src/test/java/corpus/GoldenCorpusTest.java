@@ -0,0 +1,142 @@
+package test.java.corpus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.web.client.HttpStatusCodeException;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.Query;
+import test.java.pricing.ReferenceModel;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+//-Dbananabudget.corpus=golden.bin.gz runs a kept corpus, otherwise a generated one; -Dbananabudget.baseUrl as in BananaBudgetTest
+public class GoldenCorpusTest {
+
+	private static final int CHUNK_SIZE = 1000;
+	private static final int GENERATED_CASES = 10_000;
+	private static final int MAX_REPORTED = 20;
+
+	private static BudgetStubServer server;
+	private static String baseUrl;
+	private static Client client;
+	private static Path corpus;
+	private static Path generated;
+
+	@BeforeAll
+	public static void setUp() throws IOException {
+		baseUrl = System.getProperty("bananabudget.baseUrl");
+		if (baseUrl == null) {
+			server = BudgetStubServer.start();
+			baseUrl = server.getBaseUrl();
+		}
+		ClientConfig config = new ClientConfig();
+		config.setBaseUrl(baseUrl);
+		client = new Client(config);
+		String kept = System.getProperty("bananabudget.corpus");
+		if (kept != null) {
+			corpus = Paths.get(kept);
+		} else {
+			generated = Files.createTempFile("golden", ".bin.gz");
+			GoldenCorpusGenerator.generate(generated, GENERATED_CASES, 1);
+			corpus = generated;
+		}
+	}
+
+	@AfterAll
+	public static void tearDown() throws IOException {
+		client.close();
+		if (server != null) {
+			server.close();
+		}
+		if (generated != null) {
+			Files.deleteIfExists(generated);
+		}
+	}
+
+	//one dynamic test per chunk, read only when JUnit reaches it; the cases of a chunk run concurrently
+	@TestFactory
+	public Stream<DynamicTest> goldenCorpus() throws IOException {
+		AtomicLong first = new AtomicLong();
+		return GoldenCorpusReader.chunks(corpus, CHUNK_SIZE).map(chunk -> {
+			long from = first.getAndAdd(chunk.size());
+			return dynamicTest("cases " + from + "-" + (from + chunk.size() - 1), () -> verify(chunk, baseUrl));
+		});
+	}
+
+	//a stub one cent off on long windows must fail the chunk and name the case
+	@Test
+	public void verify_StubOverchargingLongWindows_ReportsMismatch() throws IOException {
+		List<GoldenCase> chunk = new ArrayList<>();
+		chunk.add(new GoldenCase(Query.of("01/01/2019", 1), ReferenceModel.Answer.ok(5)));
+		chunk.add(new GoldenCase(Query.of("01/01/2019", 365), ReferenceModel.Answer.ok(3525)));
+		chunk.add(new GoldenCase(Query.of("02/29/2019", 1), ReferenceModel.Answer.error("Invalid startDate")));
+		try (BudgetStubServer wrong = BudgetStubServer.start()) {
+			wrong.setModel((startDate, numberOfDays) -> {
+				ReferenceModel.Answer answer = ReferenceModel.answer(startDate, numberOfDays);
+				return answer.isOk() && Integer.parseInt(numberOfDays) > 300 ? ReferenceModel.Answer.ok(answer.getCostCents() + 1) : answer;
+			});
+			AssertionFailedError failure = assertThrows(AssertionFailedError.class, () -> verify(chunk, wrong.getBaseUrl()));
+			assertTrue(failure.getMessage().startsWith("1 of 3 cases failed:\n"), failure.getMessage());
+			assertTrue(failure.getMessage().contains(chunk.get(1) + " but was status=200, error=null, costCents=3526"), failure.getMessage());
+		}
+	}
+
+	private static void verify(List<GoldenCase> chunk, String baseUrl) {
+		List<CompletableFuture<ReferenceModel.Answer>> answers = new ArrayList<>(chunk.size());
+		for (GoldenCase goldenCase : chunk) {
+			answers.add(answer(goldenCase, baseUrl));
+		}
+		List<String> mismatches = new ArrayList<>();
+		int count = 0;
+		for (int i = 0; i < chunk.size(); i++) {
+			ReferenceModel.Answer actual = answers.get(i).join();
+			if (!chunk.get(i).getExpected().equals(actual)) {
+				if (count++ < MAX_REPORTED) {
+					mismatches.add(chunk.get(i) + " but was status=" + actual.getStatus() + ", error=" + actual.getError()
+							+ ", costCents=" + actual.getCostCents());
+				}
+			}
+		}
+		assertTrue(count == 0, count + " of " + chunk.size() + " cases failed:\n" + String.join("\n", mismatches));
+	}
+
+	//asks the way the case expects to be answered, a different answer surfaces as a mismatch
+	private static CompletableFuture<ReferenceModel.Answer> answer(GoldenCase goldenCase, String baseUrl) {
+		String url = goldenCase.getQuery().toUrl(baseUrl);
+		if (goldenCase.getExpected().isOk()) {
+			return client.getBudgetAsync(url)
+					.thenApply(response -> ReferenceModel.Answer.ok(response.getBody().getTotalCost().getCents()))
+					.exceptionally(GoldenCorpusTest::failedAnswer);
+		}
+		return client.getErrorAsync(url)
+				.thenApply(error -> new ReferenceModel.Answer(error.getStatusCode().value(), error.getError(), 0))
+				.exceptionally(GoldenCorpusTest::failedAnswer);
+	}
+
+	private static ReferenceModel.Answer failedAnswer(Throwable e) {
+		Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		if (cause instanceof HttpStatusCodeException) {
+			HttpStatusCodeException statusException = (HttpStatusCodeException)cause;
+			return new ReferenceModel.Answer(statusException.getRawStatusCode(), statusException.getResponseBodyAsString(), 0);
+		}
+		return new ReferenceModel.Answer(0, cause.toString(), 0);
+	}
+}
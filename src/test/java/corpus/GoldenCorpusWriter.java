@@ -0,0 +1,89 @@
+package test.java.corpus;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import test.java.pricing.ReferenceModel;
+
+/**
+ * Writes golden cases one at a time. Error messages repeat across almost every invalid case, so each
+ * distinct message is written once and later cases refer to it by number; costs are varints.
+ * A path ending in .gz is gzipped on the fly.
+ *
+ * <pre>
+ * header: int magic, byte version
+ * case:   byte 1, utf startDate, utf numberOfDays, short status, varint tag
+ *         tag 0: varint costCents, tag 1: utf error (gets the next error number), tag n: error number n - 2
+ * end:    byte 0
+ * </pre>
+ */
+public class GoldenCorpusWriter implements Closeable {
+	static final int MAGIC = 0x42424743;
+	static final int VERSION = 1;
+	static final int CASE = 1;
+	static final int END = 0;
+	static final int TAG_COST = 0;
+	static final int TAG_NEW_ERROR = 1;
+	static final int TAG_FIRST_ERROR = 2;
+
+	private final DataOutputStream out;
+	private final Map<String, Integer> errors = new HashMap<>();
+	private long written;
+
+	public GoldenCorpusWriter(Path file) throws IOException {
+		OutputStream stream = Files.newOutputStream(file);
+		if (file.getFileName().toString().endsWith(".gz")) {
+			stream = new GZIPOutputStream(stream, 1 << 16);
+		}
+		out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+	}
+
+	public void write(GoldenCase goldenCase) throws IOException {
+		ReferenceModel.Answer expected = goldenCase.getExpected();
+		out.writeByte(CASE);
+		out.writeUTF(goldenCase.getQuery().getStartDate());
+		out.writeUTF(goldenCase.getQuery().getNumberOfDays());
+		out.writeShort(expected.getStatus());
+		if (expected.getError() == null) {
+			writeVarLong(TAG_COST);
+			writeVarLong(expected.getCostCents());
+		} else {
+			Integer number = errors.get(expected.getError());
+			if (number == null) {
+				errors.put(expected.getError(), errors.size());
+				writeVarLong(TAG_NEW_ERROR);
+				out.writeUTF(expected.getError());
+			} else {
+				writeVarLong(TAG_FIRST_ERROR + number);
+			}
+		}
+		written++;
+	}
+
+	private void writeVarLong(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			out.writeByte((int)(value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte((int)value);
+	}
+
+	public long getWritten() {
+		return written;
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.writeByte(END);
+		out.close();
+	}
+}
@@ -0,0 +1,41 @@
+package test.java.fuzz;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpStatusCodeException;
+import test.java.client.Client;
+import test.java.client.Query;
+import test.java.pojo.Budget;
+import test.java.pojo.ErrorResponse;
+import test.java.pricing.ReferenceModel;
+
+public class ClientTarget implements Target {
+	private final Client client;
+	private final String baseUrl;
+
+	public ClientTarget(Client client, String baseUrl) {
+		this.client = client;
+		this.baseUrl = baseUrl;
+	}
+
+	//asks the way the reference expects to be answered, so agreeing cases take one round trip
+	@Override
+	public ReferenceModel.Answer answer(Query query) {
+		String url = query.toUrl(baseUrl);
+		if (ReferenceModel.answer(query.getStartDate(), query.getNumberOfDays()).isOk()) {
+			try {
+				return budgetAnswer(client.getBudget(url));
+			} catch (HttpStatusCodeException e) {
+
+			}
+		}
+		ErrorResponse error = client.getError(url);
+		if (error.getStatusCode().is2xxSuccessful()) {
+			return budgetAnswer(client.getBudget(url));
+		}
+		return new ReferenceModel.Answer(error.getStatusCode().value(), error.getError(), 0);
+	}
+
+	private static ReferenceModel.Answer budgetAnswer(ResponseEntity<Budget> response) {
+		return new ReferenceModel.Answer(response.getStatusCodeValue(), null, response.getBody().getTotalCost().getCents());
+	}
+}
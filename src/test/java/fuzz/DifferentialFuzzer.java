@@ -0,0 +1,151 @@
+package test.java.fuzz;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.Query;
+import test.java.pricing.ReferenceModel;
+import test.java.server.BudgetStubServer;
+
+/**
+ * Sends generated queries to a {@link Target} from several threads and compares every answer
+ * with {@link ReferenceModel}. Each disagreement is shrunk to a minimal query that still disagrees.
+ */
+public class DifferentialFuzzer {
+	private static final int MAX_SHRINK_STEPS = 500;
+
+	private final Target target;
+	private final FuzzConfig config;
+	private final InputGenerator generator = new InputGenerator();
+
+	public DifferentialFuzzer(Target target, FuzzConfig config) {
+		this.target = target;
+		this.config = config;
+	}
+
+	public FuzzReport run() throws InterruptedException {
+		AtomicLong cases = new AtomicLong();
+		AtomicLong mismatchCount = new AtomicLong();
+		ConcurrentHashMap<Query, Mismatch> reproducers = new ConcurrentHashMap<>();
+		SplittableRandom seedRandom = new SplittableRandom(config.getSeed());
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getDurationMillis());
+		CountDownLatch done = new CountDownLatch(config.getThreads());
+
+		for (int t = 0; t < config.getThreads(); t++) {
+			SplittableRandom random = seedRandom.split();
+			Thread worker = new Thread(() -> {
+				try {
+					while (System.nanoTime() < deadline && cases.getAndIncrement() < config.getMaxCases()) {
+						Query query = generator.next(random);
+						ReferenceModel.Answer expected = expected(query);
+						ReferenceModel.Answer actual = actual(query);
+						if (!expected.equals(actual)) {
+							mismatchCount.incrementAndGet();
+							if (reproducers.size() < config.getMaxReported()) {
+								Query minimal = shrink(query);
+								reproducers.putIfAbsent(minimal, new Mismatch(query, minimal, expected(minimal), actual(minimal)));
+							}
+						}
+					}
+				} finally {
+					done.countDown();
+				}
+			}, "fuzz-worker-" + t);
+			worker.setDaemon(true);
+			worker.start();
+		}
+		done.await();
+		long total = Math.min(cases.get(), config.getMaxCases());
+		List<Mismatch> mismatches = new ArrayList<>(reproducers.values());
+		return new FuzzReport(total, mismatchCount.get(), mismatches, System.nanoTime() - start);
+	}
+
+	//greedily drops characters, or turns digits into 0, while the query still disagrees
+	Query shrink(Query query) {
+		Query current = query;
+		int steps = 0;
+		boolean progress = true;
+		while (progress && steps < MAX_SHRINK_STEPS) {
+			progress = false;
+			for (Query candidate : simplifications(current)) {
+				if (++steps > MAX_SHRINK_STEPS) {
+					break;
+				}
+				if (!expected(candidate).equals(actual(candidate))) {
+					current = candidate;
+					progress = true;
+					break;
+				}
+			}
+		}
+		return current;
+	}
+
+	private static List<Query> simplifications(Query query) {
+		List<Query> candidates = new ArrayList<>();
+		String startDate = query.getStartDate();
+		String numberOfDays = query.getNumberOfDays();
+		for (String simpler : simplifications(startDate)) {
+			candidates.add(new Query(simpler, numberOfDays));
+		}
+		for (String simpler : simplifications(numberOfDays)) {
+			candidates.add(new Query(startDate, simpler));
+		}
+		return candidates;
+	}
+
+	private static List<String> simplifications(String value) {
+		List<String> simpler = new ArrayList<>();
+		for (int i = 0; i < value.length(); i++) {
+			simpler.add(value.substring(0, i) + value.substring(i + 1));
+		}
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c > '0' && c <= '9') {
+				simpler.add(value.substring(0, i) + '0' + value.substring(i + 1));
+			}
+		}
+		return simpler;
+	}
+
+	private static ReferenceModel.Answer expected(Query query) {
+		return ReferenceModel.answer(query.getStartDate(), query.getNumberOfDays());
+	}
+
+	private ReferenceModel.Answer actual(Query query) {
+		try {
+			return target.answer(query);
+		} catch (RuntimeException e) {
+			return new ReferenceModel.Answer(-1, e.getClass().getSimpleName() + ": " + e.getMessage(), 0);
+		}
+	}
+
+	//-Dfuzz.baseUrl=... fuzzes a real deployment, otherwise a local BudgetStubServer
+	public static void main(String[] args) throws IOException, InterruptedException {
+		FuzzConfig config = FuzzConfig.fromSystemProperties();
+		String baseUrl = System.getProperty("fuzz.baseUrl");
+		BudgetStubServer server = null;
+		if (baseUrl == null) {
+			server = BudgetStubServer.start();
+			baseUrl = server.getBaseUrl();
+		}
+		ClientConfig clientConfig = new ClientConfig();
+		clientConfig.setMaxTotalConnections(config.getThreads());
+		clientConfig.setMaxConnectionsPerRoute(config.getThreads());
+		try (Client client = new Client(clientConfig)) {
+			System.out.println(new DifferentialFuzzer(new ClientTarget(client, baseUrl), config).run());
+		} finally {
+			if (server != null) {
+				server.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package test.java.fuzz;
+
+import java.io.IOException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import test.java.client.Client;
+import test.java.client.Query;
+import test.java.oracle.ReadmeOracle;
+import test.java.pricing.BudgetRules;
+import test.java.pricing.ReferenceModel;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DifferentialFuzzerTest {
+
+	private static BudgetStubServer server;
+	private static Client client;
+
+	@BeforeAll
+	public static void startServer() throws IOException {
+		server = BudgetStubServer.start();
+		//answers from rules written independently of the ReferenceModel the fuzzer checks against
+		server.setModel(ReadmeOracle::answer);
+		client = new Client();
+	}
+
+	@AfterAll
+	public static void stopServer() {
+		client.close();
+		server.close();
+	}
+
+	private static FuzzConfig config(long cases) {
+		FuzzConfig config = new FuzzConfig();
+		config.setThreads(4);
+		config.setMaxCases(cases);
+		config.setDurationMillis(60000);
+		config.setSeed(42L);
+		return config;
+	}
+
+	@Test
+	public void run_StubOnIndependentModel_NoMismatches() throws InterruptedException {
+		FuzzReport report = new DifferentialFuzzer(new ClientTarget(client, server.getBaseUrl()), config(500)).run();
+		assertEquals(report.getCases(), 500L);
+		assertEquals(report.getMismatchCount(), 0L, report.toString());
+	}
+
+	@Test
+	public void run_StubOverchargingLongWindows_ReportsMismatches() throws IOException, InterruptedException {
+		try (BudgetStubServer wrong = BudgetStubServer.start()) {
+			wrong.setModel((startDate, numberOfDays) -> {
+				ReferenceModel.Answer answer = ReferenceModel.answer(startDate, numberOfDays);
+				return answer.isOk() && BudgetRules.parseNumberOfDays(numberOfDays) > 300
+						? ReferenceModel.Answer.ok(answer.getCostCents() + 1) : answer;
+			});
+			FuzzReport report = new DifferentialFuzzer(new ClientTarget(client, wrong.getBaseUrl()), config(500)).run();
+			assertTrue(report.getMismatchCount() > 0, report.toString());
+			assertFalse(report.getMismatches().isEmpty(), report.toString());
+			for (Mismatch mismatch : report.getMismatches()) {
+				assertEquals(mismatch.getActual().getCostCents(), mismatch.getExpected().getCostCents() + 1, report.toString());
+				assertTrue(BudgetRules.parseNumberOfDays(mismatch.getMinimal().getNumberOfDays()) > 300, report.toString());
+			}
+		}
+	}
+
+	@Test
+	public void run_LenientDayTarget_ShrinksToMinimalReproducer() throws InterruptedException {
+		//accepts 02/29 in every year, like the live API did
+		Target lenient = query -> {
+			String date = query.getStartDate();
+			ReferenceModel.Answer answer = ReferenceModel.answer(date, query.getNumberOfDays());
+			if (!answer.isOk() && date.startsWith("02/29/") && date.length() == 10) {
+				return ReferenceModel.answer("02/28/" + date.substring(6), query.getNumberOfDays());
+			}
+			return answer;
+		};
+		DifferentialFuzzer fuzzer = new DifferentialFuzzer(lenient, config(10));
+		Query minimal = fuzzer.shrink(new Query("02/29/2019", "00365"));
+		assertEquals(minimal.getStartDate(), "02/29/0009");
+		assertEquals(minimal.getNumberOfDays(), "0");
+	}
+}
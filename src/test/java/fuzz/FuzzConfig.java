@@ -0,0 +1,59 @@
+package test.java.fuzz;
+
+public class FuzzConfig {
+	private int threads = 8;
+	private long durationMillis = 10000;
+	private long maxCases = Long.MAX_VALUE;
+	private int maxReported = 20;
+	private long seed = System.nanoTime();
+
+	public static FuzzConfig fromSystemProperties() {
+		FuzzConfig config = new FuzzConfig();
+		config.setThreads(Integer.getInteger("fuzz.threads", config.threads));
+		config.setDurationMillis(Long.getLong("fuzz.durationMillis", config.durationMillis));
+		config.setMaxCases(Long.getLong("fuzz.maxCases", config.maxCases));
+		config.setMaxReported(Integer.getInteger("fuzz.maxReported", config.maxReported));
+		config.setSeed(Long.getLong("fuzz.seed", config.seed));
+		return config;
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	public void setDurationMillis(long durationMillis) {
+		this.durationMillis = durationMillis;
+	}
+
+	public long getMaxCases() {
+		return maxCases;
+	}
+
+	public void setMaxCases(long maxCases) {
+		this.maxCases = maxCases;
+	}
+
+	public int getMaxReported() {
+		return maxReported;
+	}
+
+	public void setMaxReported(int maxReported) {
+		this.maxReported = maxReported;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+}
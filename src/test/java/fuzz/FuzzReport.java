@@ -0,0 +1,44 @@
+package test.java.fuzz;
+
+import java.util.List;
+
+public class FuzzReport {
+	private final long cases;
+	private final long mismatchCount;
+	private final List<Mismatch> mismatches;
+	private final long elapsedNanos;
+
+	public FuzzReport(long cases, long mismatchCount, List<Mismatch> mismatches, long elapsedNanos) {
+		this.cases = cases;
+		this.mismatchCount = mismatchCount;
+		this.mismatches = mismatches;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public long getCases() {
+		return cases;
+	}
+
+	public long getMismatchCount() {
+		return mismatchCount;
+	}
+
+	//distinct minimal reproducers, capped by FuzzConfig.maxReported
+	public List<Mismatch> getMismatches() {
+		return mismatches;
+	}
+
+	public double getCasesPerSecond() {
+		return elapsedNanos == 0 ? 0 : cases * 1e9 / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder(String.format("cases=%d mismatches=%d elapsed=%dms throughput=%.1f cases/s",
+				cases, mismatchCount, elapsedNanos / 1_000_000, getCasesPerSecond()));
+		for (Mismatch mismatch : mismatches) {
+			sb.append(System.lineSeparator()).append("  ").append(mismatch);
+		}
+		return sb.toString();
+	}
+}
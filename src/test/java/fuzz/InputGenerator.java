@@ -0,0 +1,84 @@
+package test.java.fuzz;
+
+import java.util.SplittableRandom;
+import test.java.client.Query;
+
+/**
+ * Random startDate/numberOfDays strings, roughly half well-formed and half built from the
+ * malformations BananaBudgetTest probes: odd field widths, leading zeroes and whitespace, signs,
+ * letters, unsupported delimiters and out-of-range months and days.
+ */
+public class InputGenerator {
+	private static final String[] DELIMITERS = {"/", "-", ".", ","};
+	private static final String[] BAD_DELIMITERS = {"\\", " ", ":", "_", "", "/-", "--", "//", ",.", "-/"};
+	private static final String[] WORDS = {"Feb", "one", "twenty", "twothousand", "x"};
+
+	public Query next(SplittableRandom random) {
+		return new Query(startDate(random), numberOfDays(random));
+	}
+
+	String startDate(SplittableRandom random) {
+		switch (random.nextInt(10)) {
+		case 0:
+			return "";
+		case 1:
+			return WORDS[random.nextInt(WORDS.length)] + delimiter(random) + field(random, 2) + delimiter(random) + field(random, 4);
+		default:
+			String date = field(random, 2) + delimiter(random) + field(random, 2) + delimiter(random) + field(random, 4);
+			return random.nextInt(8) == 0 ? "  " + date : date;
+		}
+	}
+
+	String numberOfDays(SplittableRandom random) {
+		switch (random.nextInt(12)) {
+		case 0:
+			return "";
+		case 1:
+			return "-" + random.nextInt(400);
+		case 2:
+			return WORDS[random.nextInt(WORDS.length)];
+		case 3:
+			return "000" + random.nextInt(400);
+		case 4:
+			return Integer.toString(364 + random.nextInt(4));
+		default:
+			return Integer.toString(random.nextInt(400));
+		}
+	}
+
+	private String delimiter(SplittableRandom random) {
+		int pick = random.nextInt(10);
+		if (pick < 7) {
+			return DELIMITERS[random.nextInt(DELIMITERS.length)];
+		}
+		if (pick < 9) {
+			return DELIMITERS[random.nextInt(DELIMITERS.length)] + DELIMITERS[random.nextInt(DELIMITERS.length)];
+		}
+		return BAD_DELIMITERS[random.nextInt(BAD_DELIMITERS.length)];
+	}
+
+	//mostly in-range values of the expected width, sometimes shortened, padded, signed or out of range
+	private String field(SplittableRandom random, int width) {
+		int value;
+		if (width == 4) {
+			value = random.nextInt(8) == 0 ? random.nextInt(10000) : 1990 + random.nextInt(50);
+		} else if (random.nextBoolean()) {
+			value = random.nextInt(8) == 0 ? random.nextInt(100) : 1 + random.nextInt(12);
+		} else {
+			value = 27 + random.nextInt(6);
+		}
+		String digits = String.format("%0" + width + "d", value);
+		switch (random.nextInt(16)) {
+		case 0:
+			return Integer.toString(value);
+		case 1:
+			return "00" + digits;
+		case 2:
+			return "-" + digits;
+		case 3:
+			return " " + digits;
+		default:
+			return digits;
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package test.java.fuzz;
+
+import test.java.client.Query;
+import test.java.pricing.ReferenceModel;
+
+public class Mismatch {
+	private final Query original;
+	private final Query minimal;
+	private final ReferenceModel.Answer expected;
+	private final ReferenceModel.Answer actual;
+
+	public Mismatch(Query original, Query minimal, ReferenceModel.Answer expected, ReferenceModel.Answer actual) {
+		this.original = original;
+		this.minimal = minimal;
+		this.expected = expected;
+		this.actual = actual;
+	}
+
+	public Query getOriginal() {
+		return original;
+	}
+
+	public Query getMinimal() {
+		return minimal;
+	}
+
+	public ReferenceModel.Answer getExpected() {
+		return expected;
+	}
+
+	public ReferenceModel.Answer getActual() {
+		return actual;
+	}
+
+	@Override
+	public String toString() {
+		return "startDate=\"" + minimal.getStartDate() + "\" numberOfDays=\"" + minimal.getNumberOfDays()
+				+ "\" expected " + expected + " but was " + actual + " (shrunk from " + original + ")";
+	}
+}
@@ -0,0 +1,9 @@
+package test.java.fuzz;
+
+import test.java.client.Query;
+import test.java.pricing.ReferenceModel;
+
+//the system under test, answering a query the same way ReferenceModel does
+public interface Target {
+	ReferenceModel.Answer answer(Query query);
+}
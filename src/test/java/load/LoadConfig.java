@@ -0,0 +1,76 @@
+package test.java.load;
+
+public class LoadConfig {
+	public enum Mode {
+		//each worker sends its next request as soon as the previous one returns
+		CLOSED,
+		//requests are due at a fixed rate whether or not earlier ones have returned
+		OPEN
+	}
+
+	private Mode mode = Mode.CLOSED;
+	private int workers = 8;
+	private int ratePerSecond = 100;
+	private long durationMillis = 10000;
+	private double invalidRatio = 0.5;
+	private long seed = System.nanoTime();
+
+	public static LoadConfig fromSystemProperties() {
+		LoadConfig config = new LoadConfig();
+		config.setMode(Mode.valueOf(System.getProperty("load.mode", config.mode.name()).toUpperCase()));
+		config.setWorkers(Integer.getInteger("load.workers", config.workers));
+		config.setRatePerSecond(Integer.getInteger("load.rate", config.ratePerSecond));
+		config.setDurationMillis(Long.getLong("load.durationMillis", config.durationMillis));
+		config.setInvalidRatio(Double.parseDouble(System.getProperty("load.invalidRatio", Double.toString(config.invalidRatio))));
+		config.setSeed(Long.getLong("load.seed", config.seed));
+		return config;
+	}
+
+	public Mode getMode() {
+		return mode;
+	}
+
+	public void setMode(Mode mode) {
+		this.mode = mode;
+	}
+
+	public int getWorkers() {
+		return workers;
+	}
+
+	public void setWorkers(int workers) {
+		this.workers = workers;
+	}
+
+	public int getRatePerSecond() {
+		return ratePerSecond;
+	}
+
+	public void setRatePerSecond(int ratePerSecond) {
+		this.ratePerSecond = ratePerSecond;
+	}
+
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	public void setDurationMillis(long durationMillis) {
+		this.durationMillis = durationMillis;
+	}
+
+	public double getInvalidRatio() {
+		return invalidRatio;
+	}
+
+	public void setInvalidRatio(double invalidRatio) {
+		this.invalidRatio = invalidRatio;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+}
@@ -0,0 +1,50 @@
+package test.java.load;
+
+import java.util.concurrent.TimeUnit;
+import test.java.metrics.LatencyHistogram;
+
+public class LoadReport {
+	private final LoadConfig.Mode mode;
+	private final LatencyHistogram histogram;
+	private final long failures;
+	private final long elapsedNanos;
+
+	public LoadReport(LoadConfig.Mode mode, LatencyHistogram histogram, long failures, long elapsedNanos) {
+		this.mode = mode;
+		this.histogram = histogram;
+		this.failures = failures;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+	public long getRequests() {
+		return histogram.getTotalCount();
+	}
+
+	public long getFailures() {
+		return failures;
+	}
+
+	public double getThroughput() {
+		return elapsedNanos == 0 ? 0 : histogram.getTotalCount() * 1e9 / elapsedNanos;
+	}
+
+	public long getLatencyNanos(double percentile) {
+		return histogram.getValueAtPercentile(percentile);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("mode=%s requests=%d failures=%d elapsed=%dms throughput=%.1f/s%n"
+				+ "latency ms: mean=%.3f p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f max=%.3f",
+				mode, getRequests(), failures, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getThroughput(),
+				histogram.getMean() / 1e6, millis(50), millis(90), millis(99), millis(99.9), histogram.getMaxValue() / 1e6);
+	}
+
+	private double millis(double percentile) {
+		return histogram.getValueAtPercentile(percentile) / 1e6;
+	}
+}
@@ -0,0 +1,117 @@
+package test.java.load;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.http.HttpStatus;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.Query;
+import test.java.metrics.LatencyHistogram;
+import test.java.pojo.ErrorResponse;
+import test.java.pricing.ReferenceModel;
+import test.java.server.BudgetStubServer;
+
+/**
+ * Drives a {@link Client} with a mix of valid and invalid queries and records latencies.
+ * In open-loop mode latency is measured from the time a request was due rather than the time
+ * it was sent, so a stalled server is not hidden by workers that were waiting on it.
+ */
+public class LoadRunner {
+	private final Client client;
+	private final String baseUrl;
+	private final LoadConfig config;
+
+	public LoadRunner(Client client, String baseUrl, LoadConfig config) {
+		this.client = client;
+		this.baseUrl = baseUrl;
+		this.config = config;
+	}
+
+	public LoadReport run() throws InterruptedException {
+		LatencyHistogram histogram = new LatencyHistogram();
+		AtomicLong failures = new AtomicLong();
+		AtomicLong sequence = new AtomicLong();
+		QueryMix mix = new QueryMix(config.getInvalidRatio());
+		SplittableRandom seedRandom = new SplittableRandom(config.getSeed());
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.getDurationMillis());
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(config.getRatePerSecond(), 1);
+		CountDownLatch done = new CountDownLatch(config.getWorkers());
+
+		for (int w = 0; w < config.getWorkers(); w++) {
+			SplittableRandom random = seedRandom.split();
+			Thread worker = new Thread(() -> {
+				try {
+					while (true) {
+						long begin;
+						if (config.getMode() == LoadConfig.Mode.OPEN) {
+							begin = start + sequence.getAndIncrement() * intervalNanos;
+							if (begin >= deadline) {
+								break;
+							}
+							long wait;
+							while ((wait = begin - System.nanoTime()) > 0) {
+								LockSupport.parkNanos(wait);
+							}
+						} else {
+							begin = System.nanoTime();
+							if (begin >= deadline) {
+								break;
+							}
+						}
+						if (!send(mix.next(random))) {
+							failures.incrementAndGet();
+						}
+						histogram.recordValue(System.nanoTime() - begin);
+					}
+				} finally {
+					done.countDown();
+				}
+			}, "load-worker-" + w);
+			worker.setDaemon(true);
+			worker.start();
+		}
+		done.await();
+		return new LoadReport(config.getMode(), histogram, failures.get(), System.nanoTime() - start);
+	}
+
+	//an invalid query only counts as a success when it gets the 400 and error text BudgetRules prescribe
+	private boolean send(Query query) {
+		ReferenceModel.Answer expected = ReferenceModel.answer(query.getStartDate(), query.getNumberOfDays());
+		try {
+			if (expected.isOk()) {
+				return client.getBudget(query.toUrl(baseUrl)).getStatusCode().is2xxSuccessful();
+			}
+			ErrorResponse error = client.getError(query.toUrl(baseUrl));
+			return error.getStatusCode() == HttpStatus.BAD_REQUEST && expected.getError().equals(error.getError());
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	//-Dload.baseUrl=... targets a real deployment, otherwise a local BudgetStubServer is started
+	public static void main(String[] args) throws IOException, InterruptedException {
+		LoadConfig config = LoadConfig.fromSystemProperties();
+		String baseUrl = System.getProperty("load.baseUrl");
+		BudgetStubServer server = null;
+		if (baseUrl == null) {
+			server = BudgetStubServer.start();
+			baseUrl = server.getBaseUrl();
+		}
+		ClientConfig clientConfig = new ClientConfig();
+		clientConfig.setBaseUrl(baseUrl);
+		clientConfig.setMaxTotalConnections(config.getWorkers());
+		clientConfig.setMaxConnectionsPerRoute(config.getWorkers());
+		try (Client client = new Client(clientConfig)) {
+			System.out.println(new LoadRunner(client, baseUrl, config).run());
+		} finally {
+			if (server != null) {
+				server.close();
+			}
+		}
+	}
+}
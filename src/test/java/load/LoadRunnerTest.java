@@ -0,0 +1,97 @@
+package test.java.load;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import test.java.client.Client;
+import test.java.client.TimingLock;
+import test.java.pricing.ReferenceModel;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Execution(ExecutionMode.SAME_THREAD)
+@ResourceLock(TimingLock.NAME)
+public class LoadRunnerTest {
+
+	private BudgetStubServer server;
+	private Client client;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		server = BudgetStubServer.start();
+		client = new Client();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		client.close();
+		server.close();
+	}
+
+	private static LoadConfig config(LoadConfig.Mode mode, int workers, int ratePerSecond, long durationMillis) {
+		LoadConfig config = new LoadConfig();
+		config.setMode(mode);
+		config.setWorkers(workers);
+		config.setRatePerSecond(ratePerSecond);
+		config.setDurationMillis(durationMillis);
+		config.setSeed(42L);
+		return config;
+	}
+
+	private LoadReport run(LoadConfig config) throws InterruptedException {
+		return new LoadRunner(client, server.getBaseUrl(), config).run();
+	}
+
+	@Test
+	public void run_ClosedLoop_ValidAndInvalidQueriesAnswered() throws InterruptedException {
+		LoadReport report = run(config(LoadConfig.Mode.CLOSED, 2, 0, 300));
+		assertTrue(report.getRequests() > 0, report.toString());
+		assertEquals(report.getFailures(), 0L, report.toString());
+	}
+
+	@Test
+	public void run_WrongErrorText_CountedAsFailure() throws InterruptedException {
+		server.setModel((startDate, numberOfDays) -> {
+			ReferenceModel.Answer answer = ReferenceModel.answer(startDate, numberOfDays);
+			return answer.isOk() ? answer : ReferenceModel.Answer.error("Something went wrong");
+		});
+		LoadConfig config = config(LoadConfig.Mode.CLOSED, 2, 0, 200);
+		config.setInvalidRatio(1);
+		LoadReport report = run(config);
+		assertTrue(report.getRequests() > 0, report.toString());
+		assertEquals(report.getFailures(), report.getRequests(), report.toString());
+	}
+
+	@Test
+	public void run_OpenLoop_SendsAtTheConfiguredRate() throws InterruptedException {
+		LoadReport report = run(config(LoadConfig.Mode.OPEN, 4, 100, 300));
+		assertEquals(report.getRequests(), 30L, report.toString());
+		assertEquals(report.getFailures(), 0L, report.toString());
+	}
+
+	//one worker, a request due every 5ms and 20ms per answer: request i is sent no earlier than i * 20ms
+	//in but was due at i * 5ms, so its latency includes the time it queued behind the ones before it
+	@Test
+	public void run_OpenLoopSlowServer_LatencyIncludesQueueing() throws InterruptedException {
+		long latencyMillis = 20;
+		server.setLatencyMillis(latencyMillis);
+		LoadReport open = run(config(LoadConfig.Mode.OPEN, 1, 200, 200));
+		assertEquals(open.getRequests(), 40L, open.toString());
+		//the last one is due at 195ms and cannot finish before 40 * 20ms
+		long lastQueued = TimeUnit.MILLISECONDS.toNanos(40 * latencyMillis - 195);
+		assertTrue(open.getLatencyNanos(100) >= lastQueued * 0.9, open.toString());
+		//the median one is due at 100ms and cannot finish before 21 * 20ms
+		long medianQueued = TimeUnit.MILLISECONDS.toNanos(21 * latencyMillis - 100);
+		assertTrue(open.getLatencyNanos(50) >= medianQueued * 0.9, open.toString());
+
+		//measured from the send time the same server looks about 20ms slow
+		LoadReport closed = run(config(LoadConfig.Mode.CLOSED, 1, 0, 200));
+		assertTrue(closed.getLatencyNanos(50) < open.getLatencyNanos(50) / 2, closed + "\n" + open);
+	}
+}
@@ -0,0 +1,42 @@
+package test.java.load;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import test.java.client.Query;
+import test.java.pricing.BudgetRules;
+
+/**
+ * Random mix of valid queries and the invalid inputs exercised by BananaBudgetTest.
+ */
+public class QueryMix {
+	private static final String[] DELIMITERS = {"/", "-", ".", ","};
+	private static final String[] INVALID_DATES = {
+		"02\\10\\2019", "01/01/200", "01012020", "00/01/2020", "01/00/2020", "01/-00/2020",
+		"01/01/-2019", "13/01/2020", "01/one/2020", "01/01/twothousand", "01/32/2019", ""
+	};
+	private static final String[] INVALID_NUM_DAYS = {"-1", "0", "366", "twenty", ""};
+	private static final long FIRST_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+	private static final long LAST_DAY = LocalDate.of(2030, 12, 31).toEpochDay();
+
+	private final double invalidRatio;
+
+	public QueryMix(double invalidRatio) {
+		this.invalidRatio = invalidRatio;
+	}
+
+	public Query next(SplittableRandom random) {
+		if (random.nextDouble() < invalidRatio) {
+			if (random.nextBoolean()) {
+				return new Query(INVALID_DATES[random.nextInt(INVALID_DATES.length)], "20");
+			}
+			return new Query(validDate(random), INVALID_NUM_DAYS[random.nextInt(INVALID_NUM_DAYS.length)]);
+		}
+		return Query.of(validDate(random), random.nextInt(BudgetRules.MIN_NUM, BudgetRules.MAX_NUM + 1));
+	}
+
+	private static String validDate(SplittableRandom random) {
+		LocalDate date = LocalDate.ofEpochDay(random.nextLong(FIRST_DAY, LAST_DAY + 1));
+		String delimiter = DELIMITERS[random.nextInt(DELIMITERS.length)];
+		return String.format("%02d%s%02d%s%04d", date.getMonthValue(), delimiter, date.getDayOfMonth(), delimiter, date.getYear());
+	}
+}
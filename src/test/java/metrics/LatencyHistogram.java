@@ -0,0 +1,114 @@
+package test.java.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram in the style of HdrHistogram: each power of two is split into
+ * 64 linear sub-buckets, so recorded values keep roughly two significant digits.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKET_HALF = 1 << (SUB_BUCKET_BITS - 1);
+	private static final int SUB_BUCKET_MASK = SUB_BUCKET_HALF - 1;
+
+	private final long highestTrackableValue;
+	private final AtomicLongArray counts;
+	private final AtomicLong totalCount = new AtomicLong();
+	private final AtomicLong totalValue = new AtomicLong();
+	private final AtomicLong maxValue = new AtomicLong();
+
+	public LatencyHistogram() {
+		//one hour in nanoseconds
+		this(3600_000_000_000L);
+	}
+
+	public LatencyHistogram(long highestTrackableValue) {
+		this.highestTrackableValue = highestTrackableValue;
+		this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+	}
+
+	static int indexOf(long value) {
+		int msb = 63 - Long.numberOfLeadingZeros(value | 1);
+		if (msb < SUB_BUCKET_BITS) {
+			return (int)value;
+		}
+		int shift = msb - SUB_BUCKET_BITS + 1;
+		return (shift << (SUB_BUCKET_BITS - 1)) + (int)(value >>> shift);
+	}
+
+	//largest value that lands in the same bucket as index
+	static long highestValueAt(int index) {
+		if (index < (1 << SUB_BUCKET_BITS)) {
+			return index;
+		}
+		int shift = (index >> (SUB_BUCKET_BITS - 1)) - 1;
+		long subBucket = (index & SUB_BUCKET_MASK) + SUB_BUCKET_HALF;
+		return ((subBucket + 1) << shift) - 1;
+	}
+
+	public void recordValue(long value) {
+		long clamped = Math.min(Math.max(value, 0), highestTrackableValue);
+		counts.incrementAndGet(indexOf(clamped));
+		totalCount.incrementAndGet();
+		totalValue.addAndGet(clamped);
+		long max;
+		while (clamped > (max = maxValue.get()) && !maxValue.compareAndSet(max, clamped)) {
+		}
+	}
+
+	public void add(LatencyHistogram other) {
+		int length = Math.min(counts.length(), other.counts.length());
+		for (int i = 0; i < length; i++) {
+			long count = other.counts.get(i);
+			if (count != 0) {
+				counts.addAndGet(i, count);
+			}
+		}
+		totalCount.addAndGet(other.totalCount.get());
+		totalValue.addAndGet(other.totalValue.get());
+		long max;
+		long otherMax = other.maxValue.get();
+		while (otherMax > (max = maxValue.get()) && !maxValue.compareAndSet(max, otherMax)) {
+		}
+	}
+
+	public long getTotalCount() {
+		return totalCount.get();
+	}
+
+	public long getMaxValue() {
+		return maxValue.get();
+	}
+
+	public double getMean() {
+		long count = totalCount.get();
+		return count == 0 ? 0 : (double)totalValue.get() / count;
+	}
+
+	//percentile in [0, 100]
+	public long getValueAtPercentile(double percentile) {
+		long count = totalCount.get();
+		if (count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long)Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= target) {
+				return Math.min(highestValueAt(i), maxValue.get());
+			}
+		}
+		return maxValue.get();
+	}
+
+	public void reset() {
+		for (int i = 0; i < counts.length(); i++) {
+			counts.set(i, 0);
+		}
+		totalCount.set(0);
+		totalValue.set(0);
+		maxValue.set(0);
+	}
+}
@@ -0,0 +1,48 @@
+package test.java.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void indexOf_BucketBoundaries_RoundTrip() {
+		for (long value = 0; value < 1_000_000; value += 7) {
+			int index = LatencyHistogram.indexOf(value);
+			assertTrue(LatencyHistogram.highestValueAt(index) >= value);
+			assertTrue(index == 0 || LatencyHistogram.highestValueAt(index - 1) < value);
+		}
+	}
+
+	@Test
+	public void getValueAtPercentile_UniformValues_WithinPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 100_000; value++) {
+			histogram.recordValue(value * 1000);
+		}
+		assertEquals(histogram.getTotalCount(), 100_000L);
+		assertEquals(histogram.getMaxValue(), 100_000_000L);
+		assertWithinPercent(histogram.getValueAtPercentile(50), 50_000_000L);
+		assertWithinPercent(histogram.getValueAtPercentile(99), 99_000_000L);
+		assertWithinPercent(histogram.getValueAtPercentile(99.9), 99_900_000L);
+		assertEquals(histogram.getValueAtPercentile(100), 100_000_000L);
+	}
+
+	@Test
+	public void add_TwoHistograms_CombinesCounts() {
+		LatencyHistogram first = new LatencyHistogram();
+		LatencyHistogram second = new LatencyHistogram();
+		first.recordValue(10);
+		second.recordValue(1_000_000);
+		first.add(second);
+		assertEquals(first.getTotalCount(), 2L);
+		assertEquals(first.getMaxValue(), 1_000_000L);
+		assertEquals(first.getValueAtPercentile(50), 10L);
+	}
+
+	private static void assertWithinPercent(long actual, long expected) {
+		assertTrue(Math.abs(actual - expected) <= expected / 50, actual + " not within 2% of " + expected);
+	}
+}
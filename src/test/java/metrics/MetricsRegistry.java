@@ -0,0 +1,67 @@
+package test.java.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process counters and latency histograms, each identified by a name and tag values.
+ * Recording is a map lookup plus an atomic increment, so it is cheap next to any network call.
+ */
+public class MetricsRegistry {
+	private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	//tags are name/value pairs: key("client.requests", "endpoint", "budget") is client.requests{endpoint=budget}
+	public static String key(String name, String... tags) {
+		if (tags.length == 0) {
+			return name;
+		}
+		StringBuilder sb = new StringBuilder(name).append('{');
+		for (int i = 0; i + 1 < tags.length; i += 2) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(tags[i]).append('=').append(tags[i + 1]);
+		}
+		return sb.append('}').toString();
+	}
+
+	public LongAdder counter(String name, String... tags) {
+		return counters.computeIfAbsent(key(name, tags), k -> new LongAdder());
+	}
+
+	public LatencyHistogram histogram(String name, String... tags) {
+		return histograms.computeIfAbsent(key(name, tags), k -> new LatencyHistogram());
+	}
+
+	public void increment(String name, String... tags) {
+		counter(name, tags).increment();
+	}
+
+	public void recordNanos(long nanos, String name, String... tags) {
+		histogram(name, tags).recordValue(nanos);
+	}
+
+	public MetricsSnapshot snapshot() {
+		Map<String, Long> counterValues = new TreeMap<>();
+		counters.forEach((key, counter) -> counterValues.put(key, counter.sum()));
+		Map<String, MetricsSnapshot.Timer> timerValues = new TreeMap<>();
+		histograms.forEach((key, histogram) -> timerValues.put(key, new MetricsSnapshot.Timer(histogram)));
+		return new MetricsSnapshot(counterValues, timerValues);
+	}
+
+	public void writeJson(Path file) throws IOException {
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), snapshot());
+	}
+
+	public void reset() {
+		counters.clear();
+		histograms.clear();
+	}
+}
@@ -0,0 +1,79 @@
+package test.java.metrics;
+
+import java.util.Map;
+
+//point-in-time copy of a MetricsRegistry, serializable with Jackson; latencies are in milliseconds
+public class MetricsSnapshot {
+	private final Map<String, Long> counters;
+	private final Map<String, Timer> timers;
+
+	public MetricsSnapshot(Map<String, Long> counters, Map<String, Timer> timers) {
+		this.counters = counters;
+		this.timers = timers;
+	}
+
+	public Map<String, Long> getCounters() {
+		return counters;
+	}
+
+	public Map<String, Timer> getTimers() {
+		return timers;
+	}
+
+	public long getCounter(String key) {
+		Long value = counters.get(key);
+		return value == null ? 0 : value;
+	}
+
+	public Timer getTimer(String key) {
+		return timers.get(key);
+	}
+
+	public static class Timer {
+		private final long count;
+		private final double mean;
+		private final double p50;
+		private final double p90;
+		private final double p99;
+		private final double p999;
+		private final double max;
+
+		Timer(LatencyHistogram histogram) {
+			count = histogram.getTotalCount();
+			mean = histogram.getMean() / 1e6;
+			p50 = histogram.getValueAtPercentile(50) / 1e6;
+			p90 = histogram.getValueAtPercentile(90) / 1e6;
+			p99 = histogram.getValueAtPercentile(99) / 1e6;
+			p999 = histogram.getValueAtPercentile(99.9) / 1e6;
+			max = histogram.getMaxValue() / 1e6;
+		}
+
+		public long getCount() {
+			return count;
+		}
+
+		public double getMean() {
+			return mean;
+		}
+
+		public double getP50() {
+			return p50;
+		}
+
+		public double getP90() {
+			return p90;
+		}
+
+		public double getP99() {
+			return p99;
+		}
+
+		public double getP999() {
+			return p999;
+		}
+
+		public double getMax() {
+			return max;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package test.java.oracle;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import test.java.pricing.ReferenceModel;
+
+/**
+ * The budget API rules as the README states them, written a second time so they can check
+ * {@link ReferenceModel} and everything built on it. Nothing here calls StartDateParser, BudgetRules
+ * or BananaBudgetCalculator: dates are checked by a plain scan, prices come from a literal table
+ * indexed by day of month, and a window is priced by walking it a day at a time.
+ */
+public final class ReadmeOracle {
+
+	//weekday price in cents by day of month, index 0 unused
+	private static final int[] WEEKDAY_CENTS = {
+		0,
+		5, 5, 5, 5, 5, 5, 5,
+		10, 10, 10, 10, 10, 10, 10,
+		15, 15, 15, 15, 15, 15, 15,
+		20, 20, 20, 20, 20, 20, 20,
+		25, 25, 25
+	};
+	private static final String DELIMITERS = "-/.,";
+	private static final String WHITESPACE = " \t\n\r\f\u000B";
+
+	private ReadmeOracle() {
+	}
+
+	public static ReferenceModel.Answer answer(String startDate, String numberOfDays) {
+		if (startDate == null || startDate.isEmpty() || numberOfDays == null || numberOfDays.isEmpty()) {
+			return ReferenceModel.Answer.error("Must provide startDate and numberOfDays");
+		}
+		LocalDate date = date(startDate);
+		if (date == null) {
+			return ReferenceModel.Answer.error("Invalid startDate");
+		}
+		int days = days(numberOfDays);
+		if (days == 0) {
+			return ReferenceModel.Answer.error("Invalid numberOfDays");
+		}
+		long cents = 0;
+		for (int i = 0; i < days; i++) {
+			DayOfWeek dow = date.getDayOfWeek();
+			if (dow != DayOfWeek.SATURDAY && dow != DayOfWeek.SUNDAY) {
+				cents += WEEKDAY_CENTS[date.getDayOfMonth()];
+			}
+			date = date.plusDays(1);
+		}
+		return ReferenceModel.Answer.ok(cents);
+	}
+
+	//MM, DD and YYYY split by "-", "/", "." or "," runs, a run of several ending in "-" is a minus sign
+	private static LocalDate date(String text) {
+		int[] widths = {2, 2, 4};
+		int[] fields = new int[3];
+		int i = 0;
+		for (int f = 0; f < 3; f++) {
+			if (f > 0) {
+				int runStart = i;
+				while (i < text.length() && DELIMITERS.indexOf(text.charAt(i)) >= 0) {
+					i++;
+				}
+				if (i == runStart || (i - runStart > 1 && text.charAt(i - 1) == '-')) {
+					return null;
+				}
+			}
+			while (i < text.length() && WHITESPACE.indexOf(text.charAt(i)) >= 0) {
+				i++;
+			}
+			for (int w = 0; w < widths[f]; w++, i++) {
+				if (i == text.length() || text.charAt(i) < '0' || text.charAt(i) > '9') {
+					return null;
+				}
+				fields[f] = fields[f] * 10 + text.charAt(i) - '0';
+			}
+		}
+		int month = fields[0];
+		int day = fields[1];
+		int year = fields[2];
+		if (i != text.length() || year == 0 || month == 0 || month > 12 || day == 0 || day > monthLength(year, month)) {
+			return null;
+		}
+		return LocalDate.of(year, month, day);
+	}
+
+	private static int monthLength(int year, int month) {
+		switch (month) {
+		case 2:
+			boolean leap = year % 400 == 0 || (year % 4 == 0 && year % 100 != 0);
+			return leap ? 29 : 28;
+		case 4:
+		case 6:
+		case 9:
+		case 11:
+			return 30;
+		default:
+			return 31;
+		}
+	}
+
+	//1 to 365 in digits, leading zeroes allowed, 0 for anything else
+	private static int days(String text) {
+		int first = 0;
+		while (first < text.length() - 1 && text.charAt(first) == '0') {
+			first++;
+		}
+		if (text.length() - first > 3) {
+			return 0;
+		}
+		int days = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return 0;
+			}
+			if (i >= first) {
+				days = days * 10 + c - '0';
+			}
+		}
+		return days <= 365 ? days : 0;
+	}
+}
@@ -0,0 +1,38 @@
+package test.java.oracle;
+
+import org.junit.jupiter.api.Test;
+import test.java.pricing.ReferenceModel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReadmeOracleTest {
+
+	@Test
+	public void answer_ValidQueries_PricedByTier() {
+		//03/09/2019 is a Saturday
+		assertEquals(ReadmeOracle.answer("03/09/2019", "1"), ReferenceModel.Answer.ok(0));
+		assertEquals(ReadmeOracle.answer("03/01/2019", "7"), ReferenceModel.Answer.ok(25));
+		assertEquals(ReadmeOracle.answer("03/22/2019", "7"), ReferenceModel.Answer.ok(100));
+		assertEquals(ReadmeOracle.answer("05/31/2019", "1"), ReferenceModel.Answer.ok(25));
+		assertEquals(ReadmeOracle.answer("01/01/2019", "31"), ReferenceModel.Answer.ok(325));
+		assertEquals(ReadmeOracle.answer("01-01-2019", "365"), ReferenceModel.Answer.ok(3525));
+		assertEquals(ReadmeOracle.answer(" 01.01,2020", "00366"), ReferenceModel.Answer.error("Invalid numberOfDays"));
+		assertEquals(ReadmeOracle.answer("01.01,2020", "00365"), ReferenceModel.Answer.ok(3525));
+	}
+
+	@Test
+	public void answer_InvalidQueries_Errors() {
+		assertEquals(ReadmeOracle.answer("", "1"), ReferenceModel.Answer.error("Must provide startDate and numberOfDays"));
+		assertEquals(ReadmeOracle.answer("01/01/2019", null), ReferenceModel.Answer.error("Must provide startDate and numberOfDays"));
+		for (String date : new String[] {"02/29/2019", "09/31/2019", "13/01/2019", "00/01/2019", "01/01/0000", "1/01/2019",
+				"01/01/20190", "01/-01/2019", "01--01/2019", "01\\01\\2019", "01/01/twothousand"}) {
+			assertEquals(ReadmeOracle.answer(date, "1"), ReferenceModel.Answer.error("Invalid startDate"), date);
+		}
+		//a Saturday, but a valid one
+		assertEquals(ReadmeOracle.answer("02/29/2020", "1"), ReferenceModel.Answer.ok(0));
+		assertEquals(ReadmeOracle.answer("01/-/2019", "1"), ReferenceModel.Answer.error("Invalid startDate"));
+		for (String days : new String[] {"0", "000", "366", "-1", "twenty", "1000"}) {
+			assertEquals(ReadmeOracle.answer("01/01/2019", days), ReferenceModel.Answer.error("Invalid numberOfDays"), days);
+		}
+	}
+}
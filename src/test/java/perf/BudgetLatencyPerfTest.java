@@ -0,0 +1,69 @@
+package test.java.perf;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.Query;
+import test.java.server.BudgetStubServer;
+
+import static test.java.perf.LatencyAssertions.assertPercentile;
+import static test.java.perf.LatencyAssertions.measureRuns;
+
+//only runs with -P perf; each check measures perf.runs runs and compares their medians with perf-baselines.properties
+@Tag("perf")
+public class BudgetLatencyPerfTest {
+
+	private static final int WARM_UP_CALLS = 1000;
+	private static final int CALLS = 5000;
+	private static final int THREADS = 8;
+
+	private static BudgetStubServer server;
+	private static Client client;
+	private static PerfBaselines baselines;
+
+	@BeforeAll
+	public static void setUp() throws IOException {
+		server = BudgetStubServer.start();
+		ClientConfig config = new ClientConfig();
+		config.setMaxTotalConnections(THREADS);
+		config.setMaxConnectionsPerRoute(THREADS);
+		client = new Client(config);
+		baselines = PerfBaselines.load();
+	}
+
+	@AfterAll
+	public static void tearDown() {
+		client.close();
+		server.close();
+	}
+
+	@Test
+	public void getBudget_Sequential_WithinBaseline() {
+		String url = Query.of("01/01/2019", 365).toUrl(server.getBaseUrl());
+		List<LatencySample> samples = measureRuns(baselines.getRuns(), WARM_UP_CALLS, CALLS, 1, () -> client.getBudget(url));
+		samples.forEach(sample -> assertPercentile(sample, 99, Duration.ofMillis(100)));
+		baselines.assertNoRegression("budget.sequential", samples);
+	}
+
+	@Test
+	public void getBudget_Concurrent_WithinBaseline() {
+		String url = Query.of("02/10/2019", 20).toUrl(server.getBaseUrl());
+		List<LatencySample> samples = measureRuns(baselines.getRuns(), WARM_UP_CALLS, CALLS, THREADS, () -> client.getBudget(url));
+		samples.forEach(sample -> assertPercentile(sample, 99, Duration.ofMillis(250)));
+		baselines.assertNoRegression("budget.concurrent", samples);
+	}
+
+	@Test
+	public void getError_Sequential_WithinBaseline() {
+		String url = Query.of("13/01/2019", 20).toUrl(server.getBaseUrl());
+		List<LatencySample> samples = measureRuns(baselines.getRuns(), WARM_UP_CALLS, CALLS, 1, () -> client.getError(url));
+		samples.forEach(sample -> assertPercentile(sample, 99, Duration.ofMillis(100)));
+		baselines.assertNoRegression("error.sequential", samples);
+	}
+}
@@ -0,0 +1,134 @@
+package test.java.perf;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import test.java.metrics.LatencyHistogram;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Latency checks for JUnit tests: a bound on a single call, or percentile and throughput bounds
+ * over a measured run of repeated calls. Unlike assertTimeout, the failure says how long it took.
+ */
+public final class LatencyAssertions {
+
+	private LatencyAssertions() {
+	}
+
+	public static <T> T assertWithin(Duration limit, ThrowingSupplier<T> call) {
+		long start = System.nanoTime();
+		T result;
+		try {
+			result = call.get();
+		} catch (Throwable t) {
+			return fail("Call failed after " + millis(System.nanoTime() - start) + "ms", t);
+		}
+		long elapsed = System.nanoTime() - start;
+		if (elapsed > limit.toNanos()) {
+			fail("Call took " + millis(elapsed) + "ms, limit " + limit.toMillis() + "ms");
+		}
+		return result;
+	}
+
+	public static void assertWithin(Duration limit, Executable call) {
+		assertWithin(limit, () -> {
+			call.execute();
+			return null;
+		});
+	}
+
+	//warmUpCalls are made first and left out of the sample
+	public static LatencySample measure(int warmUpCalls, int calls, Executable call) {
+		return measure(warmUpCalls, calls, 1, call);
+	}
+
+	//calls are shared out between threads, which all start measuring together once warm-up is done
+	public static LatencySample measure(int warmUpCalls, int calls, int threads, Executable call) {
+		for (int i = 0; i < warmUpCalls; i++) {
+			execute(call, "Warm-up call " + i);
+		}
+		LatencyHistogram histogram = new LatencyHistogram();
+		AtomicInteger remaining = new AtomicInteger(calls);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch ready = new CountDownLatch(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			Thread worker = new Thread(() -> {
+				try {
+					ready.countDown();
+					start.await();
+					while (failure.get() == null && remaining.getAndDecrement() > 0) {
+						long callStart = System.nanoTime();
+						call.execute();
+						histogram.recordValue(System.nanoTime() - callStart);
+					}
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+				} finally {
+					done.countDown();
+				}
+			}, "latency-" + t);
+			worker.setDaemon(true);
+			worker.start();
+		}
+		try {
+			ready.await();
+			long runStart = System.nanoTime();
+			start.countDown();
+			done.await();
+			long elapsed = System.nanoTime() - runStart;
+			if (failure.get() != null) {
+				fail("Call failed after " + histogram.getTotalCount() + " measured calls", failure.get());
+			}
+			return new LatencySample(histogram, elapsed);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return fail("Interrupted while measuring", e);
+		}
+	}
+
+	//runs measured one after another, warmUpCalls made once before the first
+	public static List<LatencySample> measureRuns(int runs, int warmUpCalls, int calls, int threads, Executable call) {
+		List<LatencySample> samples = new ArrayList<>(runs);
+		for (int run = 0; run < runs; run++) {
+			samples.add(measure(run == 0 ? warmUpCalls : 0, calls, threads, call));
+		}
+		return samples;
+	}
+
+	public static void assertPercentile(LatencySample sample, double percentile, Duration limit) {
+		long value = sample.getValueAtPercentile(percentile);
+		if (value > limit.toNanos()) {
+			fail("p" + percentileName(percentile) + " " + millis(value) + "ms over limit " + limit.toMillis() + "ms: " + sample);
+		}
+	}
+
+	public static void assertThroughput(LatencySample sample, double minPerSecond) {
+		if (sample.getThroughput() < minPerSecond) {
+			fail(String.format("Throughput %.1f/s under %.1f/s: %s", sample.getThroughput(), minPerSecond, sample));
+		}
+	}
+
+	private static void execute(Executable call, String what) {
+		try {
+			call.execute();
+		} catch (Throwable t) {
+			fail(what + " failed", t);
+		}
+	}
+
+	private static String percentileName(double percentile) {
+		return percentile == Math.rint(percentile) ? Long.toString((long)percentile) : Double.toString(percentile);
+	}
+
+	private static String millis(long nanos) {
+		return String.format("%.2f", nanos / 1e6);
+	}
+}
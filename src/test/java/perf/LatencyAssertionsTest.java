@@ -0,0 +1,138 @@
+package test.java.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import test.java.metrics.LatencyHistogram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static test.java.perf.LatencyAssertions.assertPercentile;
+import static test.java.perf.LatencyAssertions.assertThroughput;
+import static test.java.perf.LatencyAssertions.assertWithin;
+import static test.java.perf.LatencyAssertions.measure;
+
+public class LatencyAssertionsTest {
+
+	@Test
+	public void assertWithin_FastCall_ReturnsResult() {
+		assertEquals(assertWithin(Duration.ofSeconds(10), () -> "done"), "done");
+	}
+
+	@Test
+	public void assertWithin_SlowCall_FailsWithElapsed() {
+		AssertionFailedError error = assertThrows(AssertionFailedError.class,
+				() -> assertWithin(Duration.ofMillis(1), () -> Thread.sleep(30)));
+		assertTrue(error.getMessage().startsWith("Call took "), error.getMessage());
+		assertTrue(error.getMessage().endsWith("ms, limit 1ms"), error.getMessage());
+	}
+
+	@Test
+	public void measure_Threads_SharesCallsAndSkipsWarmUp() {
+		AtomicInteger calls = new AtomicInteger();
+		LatencySample sample = measure(10, 200, 4, calls::incrementAndGet);
+		assertEquals(calls.get(), 210);
+		assertEquals(sample.getCalls(), 200L);
+		assertTrue(sample.getElapsedNanos() > 0);
+	}
+
+	@Test
+	public void measure_FailingCall_Fails() {
+		AtomicInteger calls = new AtomicInteger();
+		assertThrows(AssertionFailedError.class, () -> measure(0, 100, () -> {
+			if (calls.incrementAndGet() == 50) {
+				throw new IllegalStateException("boom");
+			}
+		}));
+		assertEquals(calls.get(), 50);
+	}
+
+	@Test
+	public void assertPercentile_SlowTail_OnlyFailsPastIt() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 999; i++) {
+			histogram.recordValue(TimeUnit.MILLISECONDS.toNanos(1));
+		}
+		histogram.recordValue(TimeUnit.SECONDS.toNanos(1));
+		LatencySample sample = new LatencySample(histogram, TimeUnit.SECONDS.toNanos(2));
+		assertPercentile(sample, 99, Duration.ofMillis(2));
+		assertThrows(AssertionFailedError.class, () -> assertPercentile(sample, 100, Duration.ofMillis(2)));
+	}
+
+	@Test
+	public void assertThroughput_UnderMinimum_Fails() {
+		LatencySample sample = sample(100, 1, TimeUnit.SECONDS.toNanos(1));
+		assertEquals(sample.getThroughput(), 100.0, 1e-9);
+		assertThroughput(sample, 100);
+		assertThrows(AssertionFailedError.class, () -> assertThroughput(sample, 150));
+	}
+
+	@Test
+	public void assertNoRegression_AgainstBaselines() {
+		Properties properties = new Properties();
+		properties.setProperty("budget.p99Millis", "1.0");
+		properties.setProperty("budget.throughput", "100");
+		PerfBaselines baselines = new PerfBaselines(properties, 0.5, null);
+		baselines.assertNoRegression("budget", sample(100, 1, TimeUnit.SECONDS.toNanos(1)));
+		//p99 of 2ms against 1ms + 50%
+		assertThrows(AssertionFailedError.class,
+				() -> baselines.assertNoRegression("budget", sample(100, 2, TimeUnit.SECONDS.toNanos(1))));
+		//40 calls a second against 100 - 50%
+		assertThrows(AssertionFailedError.class,
+				() -> baselines.assertNoRegression("budget", sample(100, 1, TimeUnit.MILLISECONDS.toNanos(2500))));
+		assertThrows(AssertionFailedError.class,
+				() -> baselines.assertNoRegression("other", sample(100, 1, TimeUnit.SECONDS.toNanos(1))));
+	}
+
+	@Test
+	public void assertNoRegression_Runs_GatedOnMedian() {
+		Properties properties = new Properties();
+		properties.setProperty("budget.p99Millis", "1.0");
+		properties.setProperty("budget.throughput", "100");
+		PerfBaselines baselines = new PerfBaselines(properties, 0.5, 3, null);
+		LatencySample fast = sample(100, 1, TimeUnit.SECONDS.toNanos(1));
+		LatencySample slow = sample(100, 2, TimeUnit.MILLISECONDS.toNanos(2500));
+		//one slow run of three is outvoted, two are not
+		baselines.assertNoRegression("budget", Arrays.asList(fast, slow, fast));
+		AssertionFailedError failure = assertThrows(AssertionFailedError.class,
+				() -> baselines.assertNoRegression("budget", Arrays.asList(slow, fast, slow)));
+		assertTrue(failure.getMessage().contains(slow.toString()), failure.getMessage());
+		assertEquals(PerfBaselines.median(Arrays.asList(fast, slow), LatencySample::getThroughput), 70.0, 0.01);
+	}
+
+	@Test
+	public void assertNoRegression_RecordedBaselines_ReadBack() throws IOException {
+		Path file = Files.createTempFile("perf-baselines", ".properties");
+		try {
+			new PerfBaselines(new Properties(), 0.5, file).assertNoRegression("budget",
+					sample(100, 3, TimeUnit.SECONDS.toNanos(1)));
+			Properties recorded = new Properties();
+			try (InputStream in = Files.newInputStream(file)) {
+				recorded.load(in);
+			}
+			assertEquals(Double.parseDouble(recorded.getProperty("budget.p99Millis")), 3.0, 0.1);
+			assertEquals(recorded.getProperty("budget.throughput"), "100");
+			new PerfBaselines(recorded, 0.5, null).assertNoRegression("budget", sample(100, 3, TimeUnit.SECONDS.toNanos(1)));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	//calls of millis each, made over elapsedNanos
+	private static LatencySample sample(int calls, long millis, long elapsedNanos) {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < calls; i++) {
+			histogram.recordValue(TimeUnit.MILLISECONDS.toNanos(millis));
+		}
+		return new LatencySample(histogram, elapsedNanos);
+	}
+}
@@ -0,0 +1,47 @@
+package test.java.perf;
+
+import java.util.concurrent.TimeUnit;
+import test.java.metrics.LatencyHistogram;
+
+//latencies of a run of repeated calls and how long the whole run took
+public class LatencySample {
+	private final LatencyHistogram histogram;
+	private final long elapsedNanos;
+
+	public LatencySample(LatencyHistogram histogram, long elapsedNanos) {
+		this.histogram = histogram;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public long getCalls() {
+		return histogram.getTotalCount();
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	//percentile in [0, 100], in nanoseconds
+	public long getValueAtPercentile(double percentile) {
+		return histogram.getValueAtPercentile(percentile);
+	}
+
+	public double getPercentileMillis(double percentile) {
+		return getValueAtPercentile(percentile) / 1e6;
+	}
+
+	public long getMaxValue() {
+		return histogram.getMaxValue();
+	}
+
+	//calls per second over the whole run
+	public double getThroughput() {
+		return elapsedNanos == 0 ? 0 : getCalls() * (double)TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LatencySample[calls=%d, p50=%.2fms, p99=%.2fms, max=%.2fms, throughput=%.1f/s]", getCalls(),
+				getPercentileMillis(50), getPercentileMillis(99), getMaxValue() / 1e6, getThroughput());
+	}
+}
@@ -0,0 +1,132 @@
+package test.java.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Stored p99 and throughput per named check, from perf-baselines.properties on the test classpath
+ * or the file given by -Dperf.baselines. A check measures perf.runs runs and compares their median p99
+ * and median throughput, so one run slowed by the machine does not fail it. It fails when the median
+ * p99 is more than the tolerance above the baseline or the median throughput more than the tolerance
+ * below it. With -Dperf.recordBaselines=file the medians are written to that file instead of being
+ * checked, to refresh the baselines.
+ */
+public class PerfBaselines {
+	public static final String RESOURCE = "/perf-baselines.properties";
+	private static final String TOLERANCE = "perf.tolerance";
+	private static final String RUNS = "perf.runs";
+	private static final double DEFAULT_TOLERANCE = 0.25;
+	private static final int DEFAULT_RUNS = 5;
+
+	private final Properties baselines;
+	private final double tolerance;
+	private final int runs;
+	private final Path recordFile;
+
+	public PerfBaselines(Properties baselines, double tolerance, Path recordFile) {
+		this(baselines, tolerance, 1, recordFile);
+	}
+
+	public PerfBaselines(Properties baselines, double tolerance, int runs, Path recordFile) {
+		this.baselines = baselines;
+		this.tolerance = tolerance;
+		this.runs = runs;
+		this.recordFile = recordFile;
+	}
+
+	public static PerfBaselines load() {
+		Properties baselines = new Properties();
+		String file = System.getProperty("perf.baselines");
+		try (InputStream in = file == null ? PerfBaselines.class.getResourceAsStream(RESOURCE)
+				: Files.newInputStream(Paths.get(file))) {
+			if (in != null) {
+				baselines.load(in);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		double tolerance = Double.parseDouble(System.getProperty(TOLERANCE,
+				baselines.getProperty(TOLERANCE, Double.toString(DEFAULT_TOLERANCE))));
+		int runs = Integer.parseInt(System.getProperty(RUNS, baselines.getProperty(RUNS, Integer.toString(DEFAULT_RUNS))));
+		String record = System.getProperty("perf.recordBaselines");
+		return new PerfBaselines(baselines, tolerance, runs, record == null ? null : Paths.get(record));
+	}
+
+	public double getTolerance() {
+		return tolerance;
+	}
+
+	//how many runs a check should measure
+	public int getRuns() {
+		return runs;
+	}
+
+	public void assertNoRegression(String name, LatencySample sample) {
+		assertNoRegression(name, Collections.singletonList(sample));
+	}
+
+	public synchronized void assertNoRegression(String name, List<LatencySample> samples) {
+		double p99Millis = median(samples, sample -> sample.getPercentileMillis(99));
+		double throughputPerSecond = median(samples, LatencySample::getThroughput);
+		if (recordFile != null) {
+			record(name, p99Millis, throughputPerSecond);
+			return;
+		}
+		String p99 = baselines.getProperty(name + ".p99Millis");
+		String throughput = baselines.getProperty(name + ".throughput");
+		if (p99 == null || throughput == null) {
+			fail("No baseline for " + name + ", record one with -Dperf.recordBaselines=<file>: " + samples);
+		}
+		double p99Limit = Double.parseDouble(p99) * (1 + tolerance);
+		double throughputFloor = Double.parseDouble(throughput) * (1 - tolerance);
+		if (p99Millis > p99Limit) {
+			fail(String.format("%s p99 regressed: median %.2fms over %.2fms (baseline %sms + %.0f%%): %s", name,
+					p99Millis, p99Limit, p99, tolerance * 100, samples));
+		}
+		if (throughputPerSecond < throughputFloor) {
+			fail(String.format("%s throughput regressed: median %.1f/s under %.1f/s (baseline %s/s - %.0f%%): %s", name,
+					throughputPerSecond, throughputFloor, throughput, tolerance * 100, samples));
+		}
+	}
+
+	//the middle value, or the mean of the two middle ones
+	static double median(List<LatencySample> samples, ToDoubleFunction<LatencySample> value) {
+		if (samples.isEmpty()) {
+			throw new IllegalArgumentException("No samples");
+		}
+		double[] values = samples.stream().mapToDouble(value).sorted().toArray();
+		int middle = values.length / 2;
+		return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+	}
+
+	private void record(String name, double p99Millis, double throughputPerSecond) {
+		Properties recorded = new Properties();
+		try {
+			if (Files.exists(recordFile)) {
+				try (InputStream in = Files.newInputStream(recordFile)) {
+					recorded.load(in);
+				}
+			}
+			//read back with Double.parseDouble, so never a decimal comma whatever the default locale
+			recorded.setProperty(name + ".p99Millis", String.format(Locale.ROOT, "%.2f", p99Millis));
+			recorded.setProperty(name + ".throughput", String.format(Locale.ROOT, "%.0f", throughputPerSecond));
+			try (OutputStream out = Files.newOutputStream(recordFile)) {
+				recorded.store(out, "perf baselines");
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
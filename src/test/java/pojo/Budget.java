@@ -3,13 +3,17 @@ package test.java.pojo;
 import java.math.BigDecimal;
 
 public class Budget {
-	private String totalCost;
+	private Money totalCost;
 	
-	public void setTotalCost(String totalCost) {
+	public void setTotalCost(Money totalCost) {
 		this.totalCost = totalCost;
 	}
 
+	public Money getTotalCost() {
+		return totalCost;
+	}
+
 	public BigDecimal getTotalCostValue() {
-		return new BigDecimal(totalCost.replace("$", ""));
+		return totalCost.toBigDecimal();
 	}
-}
\ No newline at end of file
+}
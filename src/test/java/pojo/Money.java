@@ -0,0 +1,130 @@
+package test.java.pojo;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.math.BigDecimal;
+
+/**
+ * Immutable dollar amount held as whole cents.
+ */
+@JsonDeserialize(using = MoneyDeserializer.class)
+public final class Money implements Comparable<Money> {
+	public static final Money ZERO = new Money(0);
+
+	private final long cents;
+
+	private Money(long cents) {
+		this.cents = cents;
+	}
+
+	public static Money ofCents(long cents) {
+		return cents == 0 ? ZERO : new Money(cents);
+	}
+
+	public static Money parse(CharSequence text) {
+		char[] chars = text.toString().toCharArray();
+		return ofCents(parseCents(chars, 0, chars.length));
+	}
+
+	//accepts an optional "$" and sign, and at most two decimal places: "$3.25", "35", "-0.5"
+	public static long parseCents(char[] text, int offset, int length) {
+		int i = offset;
+		int end = offset + length;
+		if (i < end && text[i] == '$') {
+			i++;
+		}
+		boolean negative = i < end && text[i] == '-';
+		if (negative) {
+			i++;
+		}
+		long dollars = 0;
+		int digits = 0;
+		for (; i < end && text[i] != '.'; i++, digits++) {
+			dollars = Math.addExact(Math.multiplyExact(dollars, 10), digit(text, i, offset, length));
+		}
+		long fraction = 0;
+		int decimals = 0;
+		if (i < end) {
+			for (i++; i < end; i++, decimals++) {
+				if (decimals == 2) {
+					throw invalid(text, offset, length);
+				}
+				fraction = fraction * 10 + digit(text, i, offset, length);
+			}
+		}
+		if (digits + decimals == 0) {
+			throw invalid(text, offset, length);
+		}
+		if (decimals == 1) {
+			fraction *= 10;
+		}
+		long cents = Math.addExact(Math.multiplyExact(dollars, 100), fraction);
+		return negative ? -cents : cents;
+	}
+
+	private static int digit(char[] text, int i, int offset, int length) {
+		char c = text[i];
+		if (c < '0' || c > '9') {
+			throw invalid(text, offset, length);
+		}
+		return c - '0';
+	}
+
+	private static NumberFormatException invalid(char[] text, int offset, int length) {
+		return new NumberFormatException("Invalid money amount: " + new String(text, offset, length));
+	}
+
+	public long getCents() {
+		return cents;
+	}
+
+	public Money plus(Money other) {
+		return ofCents(Math.addExact(cents, other.cents));
+	}
+
+	public BigDecimal toBigDecimal() {
+		return BigDecimal.valueOf(cents, 2);
+	}
+
+	@Override
+	public int compareTo(Money other) {
+		return Long.compare(cents, other.cents);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof Money && ((Money)o).cents == cents;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(cents);
+	}
+
+	@Override
+	public String toString() {
+		return toBigDecimal().toPlainString();
+	}
+
+	/**
+	 * Mutable running total, so summing many amounts does not allocate.
+	 */
+	public static final class Sum {
+		private long cents;
+
+		public void add(Money money) {
+			cents = Math.addExact(cents, money.cents);
+		}
+
+		public void addCents(long amount) {
+			cents = Math.addExact(cents, amount);
+		}
+
+		public long getCents() {
+			return cents;
+		}
+
+		public Money toMoney() {
+			return ofCents(cents);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package test.java.pojo;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+//parses "$3.25" from the parser's own character buffer, without an intermediate String or BigDecimal
+public class MoneyDeserializer extends StdScalarDeserializer<Money> {
+
+	public MoneyDeserializer() {
+		super(Money.class);
+	}
+
+	@Override
+	public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+		JsonToken token = p.getCurrentToken();
+		if (token == JsonToken.VALUE_STRING) {
+			try {
+				return Money.ofCents(Money.parseCents(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+			} catch (NumberFormatException | ArithmeticException e) {
+				return (Money)ctxt.handleWeirdStringValue(Money.class, p.getText(), e.getMessage());
+			}
+		}
+		if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+			BigDecimal value = p.getDecimalValue();
+			return Money.ofCents(value.movePointRight(2).longValueExact());
+		}
+		return (Money)ctxt.handleUnexpectedToken(Money.class, p);
+	}
+}
@@ -0,0 +1,72 @@
+package test.java.pojo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MoneyTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void parse_ValidAmounts_MatchCents() {
+		assertEquals(Money.parse("$35.25").getCents(), 3525L);
+		assertEquals(Money.parse("0.05").getCents(), 5L);
+		assertEquals(Money.parse("$0.5").getCents(), 50L);
+		assertEquals(Money.parse("35").getCents(), 3500L);
+		assertEquals(Money.parse(".25").getCents(), 25L);
+		assertEquals(Money.parse("$-1.10").getCents(), -110L);
+		assertEquals(Money.parse("0.00"), Money.ZERO);
+	}
+
+	@Test
+	public void parse_InvalidAmounts_Throw() {
+		assertThrows(NumberFormatException.class, () -> Money.parse(""));
+		assertThrows(NumberFormatException.class, () -> Money.parse("$"));
+		assertThrows(NumberFormatException.class, () -> Money.parse("1.005"));
+		assertThrows(NumberFormatException.class, () -> Money.parse("1,00"));
+		assertThrows(NumberFormatException.class, () -> Money.parse("$1.0$"));
+	}
+
+	@Test
+	public void toBigDecimal_MatchesBigDecimalParsing() {
+		assertEquals(Money.parse("$3.30").toBigDecimal(), new BigDecimal("3.30"));
+		assertEquals(Money.parse("$0").toBigDecimal(), new BigDecimal("0.00"));
+		assertEquals(Money.parse("$3.30").toString(), "3.30");
+	}
+
+	@Test
+	public void compareAndAdd_MatchCents() {
+		assertTrue(Money.parse("0.10").compareTo(Money.parse("0.05")) > 0);
+		assertEquals(Money.parse("0.10").plus(Money.parse("0.05")), Money.ofCents(15));
+		Money.Sum sum = new Money.Sum();
+		for (int i = 0; i < 365; i++) {
+			sum.add(Money.parse("0.25"));
+		}
+		assertEquals(sum.toMoney(), Money.parse("91.25"));
+	}
+
+	@Test
+	public void deserialize_Budget_ParsesTotalCost() throws IOException {
+		Budget budget = objectMapper.readValue("{\"totalCost\":\"$35.25\"}", Budget.class);
+		assertEquals(budget.getTotalCost(), Money.ofCents(3525));
+		assertEquals(budget.getTotalCostValue(), new BigDecimal("35.25"));
+	}
+
+	@Test
+	public void deserialize_NumericTotalCost_ParsesTotalCost() throws IOException {
+		Budget budget = objectMapper.readValue("{\"totalCost\":3.3}", Budget.class);
+		assertEquals(budget.getTotalCost(), Money.ofCents(330));
+	}
+
+	@Test
+	public void deserialize_MalformedTotalCost_Throws() {
+		assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("{\"totalCost\":\"3 dollars\"}", Budget.class));
+	}
+}
@@ -0,0 +1,95 @@
+package test.java.pricing;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Closed-form banana budget: weekends are free, weekdays cost 0.05/0.10/0.15/0.20
+ * for days 1-7/8-14/15-21/22-28 of the month and 0.25 from the 29th on.
+ */
+public final class BananaBudgetCalculator {
+
+	private static final int[] TIER_CENTS = {5, 10, 15, 20, 25};
+	//cost of the first n whole 7-day blocks of a month, each block always has 5 weekdays
+	private static final int[] BLOCK_PREFIX_CENTS = {0, 25, 75, 150, 250};
+
+	//the gregorian calendar repeats every 400 years, and 146097 days is a whole number of weeks
+	private static final int CYCLE_YEARS = 400;
+	private static final int CYCLE_MONTHS = CYCLE_YEARS * 12;
+	private static final int[] MONTH_PREFIX_CENTS = new int[CYCLE_MONTHS + 1];
+	private static final long CYCLE_CENTS;
+
+	//WEEKDAYS[dow][len] = weekdays in a run of len days starting on dow (0 = Monday)
+	private static final int[][] WEEKDAYS = new int[7][8];
+
+	static {
+		for (int dow = 0; dow < 7; dow++) {
+			for (int len = 1; len < 8; len++) {
+				int day = (dow + len - 1) % 7;
+				WEEKDAYS[dow][len] = WEEKDAYS[dow][len - 1] + (day < 5 ? 1 : 0);
+			}
+		}
+		for (int i = 0; i < CYCLE_MONTHS; i++) {
+			LocalDate first = LocalDate.of(2000 + i / 12, i % 12 + 1, 1);
+			int dow = first.getDayOfWeek().getValue() - 1;
+			MONTH_PREFIX_CENTS[i + 1] = MONTH_PREFIX_CENTS[i] + monthPrefixCents(dow, first.lengthOfMonth());
+		}
+		CYCLE_CENTS = MONTH_PREFIX_CENTS[CYCLE_MONTHS];
+	}
+
+	private BananaBudgetCalculator() {
+	}
+
+	public static long totalCostCents(LocalDate startDate, int numberOfDays) {
+		if (numberOfDays < 0) {
+			throw new IllegalArgumentException("numberOfDays must not be negative: " + numberOfDays);
+		}
+		return cumulativeCents(startDate.plusDays(numberOfDays)) - cumulativeCents(startDate);
+	}
+
+	public static long totalCostCents(long startEpochDay, int numberOfDays) {
+		return totalCostCents(LocalDate.ofEpochDay(startEpochDay), numberOfDays);
+	}
+
+	public static BigDecimal totalCost(LocalDate startDate, int numberOfDays) {
+		return BigDecimal.valueOf(totalCostCents(startDate, numberOfDays), 2);
+	}
+
+	public static int dayCostCents(LocalDate date) {
+		if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+			return 0;
+		}
+		return weekdayCents(date.getDayOfMonth());
+	}
+
+	//cost of a weekday on the given day of its month
+	static int weekdayCents(int dayOfMonth) {
+		return TIER_CENTS[Math.min((dayOfMonth - 1) / 7, 4)];
+	}
+
+	//cost of every day before the given date, counted from 01/01/0000
+	static long cumulativeCents(LocalDate date) {
+		int year = date.getYear();
+		int dayOfMonth = date.getDayOfMonth();
+		int monthInCycle = Math.floorMod(year, CYCLE_YEARS) * 12 + date.getMonthValue() - 1;
+		int firstDow = Math.floorMod(date.getDayOfWeek().getValue() - dayOfMonth, 7);
+		return Math.floorDiv(year, CYCLE_YEARS) * CYCLE_CENTS
+				+ MONTH_PREFIX_CENTS[monthInCycle]
+				+ monthPrefixCents(firstDow, dayOfMonth - 1);
+	}
+
+	//cost of days 1..days of a month whose first day falls on firstDow
+	static int monthPrefixCents(int firstDow, int days) {
+		int tiered = Math.min(days, 28);
+		int blocks = tiered / 7;
+		int cents = BLOCK_PREFIX_CENTS[blocks];
+		if (blocks < 4) {
+			cents += WEEKDAYS[firstDow][tiered - blocks * 7] * TIER_CENTS[blocks];
+		}
+		if (days > 28) {
+			cents += WEEKDAYS[firstDow][days - 28] * TIER_CENTS[4];
+		}
+		return cents;
+	}
+}
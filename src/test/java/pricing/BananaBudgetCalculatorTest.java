@@ -0,0 +1,76 @@
+package test.java.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BananaBudgetCalculatorTest {
+
+	private static final LocalDate MARCH_1_2019 = LocalDate.of(2019, 3, 1);
+	private static final LocalDate JAN_1_2019 = LocalDate.of(2019, 1, 1);
+
+	private static long naiveCents(LocalDate start, int numberOfDays) {
+		long cents = 0;
+		for (int i = 0; i < numberOfDays; i++) {
+			cents += BananaBudgetCalculator.dayCostCents(start.plusDays(i));
+		}
+		return cents;
+	}
+
+	@Test
+	public void totalCost_SingleDays_MatchTiers() {
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 9), 1), new BigDecimal("0.00"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 1), 1), new BigDecimal("0.05"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 7), 1), new BigDecimal("0.05"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 8), 1), new BigDecimal("0.10"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 14), 1), new BigDecimal("0.10"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 15), 1), new BigDecimal("0.15"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 21), 1), new BigDecimal("0.15"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 22), 1), new BigDecimal("0.20"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 28), 1), new BigDecimal("0.20"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 3, 29), 1), new BigDecimal("0.25"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2019, 5, 31), 1), new BigDecimal("0.25"));
+	}
+
+	@Test
+	public void totalCost_Weeks_MatchTiers() {
+		assertEquals(BananaBudgetCalculator.totalCost(MARCH_1_2019, 7), new BigDecimal("0.25"));
+		assertEquals(BananaBudgetCalculator.totalCost(MARCH_1_2019.plusDays(7), 7), new BigDecimal("0.50"));
+		assertEquals(BananaBudgetCalculator.totalCost(MARCH_1_2019.plusDays(14), 7), new BigDecimal("0.75"));
+		assertEquals(BananaBudgetCalculator.totalCost(MARCH_1_2019.plusDays(21), 7), new BigDecimal("1.00"));
+	}
+
+	@Test
+	public void totalCost_LongWindows_MatchExpected() {
+		assertEquals(BananaBudgetCalculator.totalCost(JAN_1_2019, 31), new BigDecimal("3.25"));
+		assertEquals(BananaBudgetCalculator.totalCost(JAN_1_2019, 32), new BigDecimal("3.30"));
+		assertEquals(BananaBudgetCalculator.totalCost(JAN_1_2019, 365), new BigDecimal("35.25"));
+		assertEquals(BananaBudgetCalculator.totalCost(LocalDate.of(2020, 1, 1), 366), new BigDecimal("35.50"));
+	}
+
+	@Test
+	public void totalCost_ZeroDays_IsZero() {
+		assertEquals(BananaBudgetCalculator.totalCostCents(JAN_1_2019, 0), 0L);
+	}
+
+	@Test
+	public void totalCost_NegativeDays_Throws() {
+		assertThrows(IllegalArgumentException.class, () -> BananaBudgetCalculator.totalCostCents(JAN_1_2019, -1));
+	}
+
+	@Test
+	public void totalCost_RandomWindows_MatchDayByDay() {
+		Random random = new Random(20190210L);
+		long minEpochDay = LocalDate.of(1600, 1, 1).toEpochDay();
+		long maxEpochDay = LocalDate.of(2400, 12, 31).toEpochDay();
+		for (int i = 0; i < 20000; i++) {
+			LocalDate start = LocalDate.ofEpochDay(minEpochDay + (long)(random.nextDouble() * (maxEpochDay - minEpochDay)));
+			int numberOfDays = random.nextInt(800);
+			assertEquals(BananaBudgetCalculator.totalCostCents(start, numberOfDays), naiveCents(start, numberOfDays));
+		}
+	}
+}
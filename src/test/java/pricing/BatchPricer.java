@@ -0,0 +1,175 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Prices whole batches of (startDate, numberOfDays) queries given as parallel arrays. One pass
+ * finds the span of days the batch touches and a table of running cost over that span is built
+ * once; after that every query is two table reads and a subtraction in a loop without branches or
+ * calls, split across cores with fork/join. A batch spanning more than {@link #MAX_TABLE_DAYS}
+ * days, or more than {@link #MAX_DAYS_PER_QUERY} days per query, is priced per query with
+ * {@link BananaBudgetCalculator} instead, since building the table would cost more than it saves.
+ */
+public final class BatchPricer {
+	//a 64MB table, about 46000 years
+	public static final int MAX_TABLE_DAYS = 1 << 24;
+	//a table day costs about as much to build as a query costs to price on its own
+	public static final int MAX_DAYS_PER_QUERY = 4;
+	//queries per fork/join leaf
+	private static final int THRESHOLD = 1 << 14;
+
+	private BatchPricer() {
+	}
+
+	public static long[] price(int[] startEpochDays, int[] numberOfDays) {
+		long[] costCents = new long[startEpochDays.length];
+		price(startEpochDays, numberOfDays, costCents, ForkJoinPool.commonPool());
+		return costCents;
+	}
+
+	public static void price(int[] startEpochDays, int[] numberOfDays, long[] costCents) {
+		price(startEpochDays, numberOfDays, costCents, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Writes the cost in cents of query i to costCents[i].
+	 *
+	 * @throws IllegalArgumentException when the arrays differ in length or a numberOfDays is negative
+	 */
+	public static void price(int[] startEpochDays, int[] numberOfDays, long[] costCents, ForkJoinPool pool) {
+		int length = startEpochDays.length;
+		if (numberOfDays.length != length || costCents.length != length) {
+			throw new IllegalArgumentException("Batch arrays differ in length: " + length + " starts, "
+					+ numberOfDays.length + " numberOfDays, " + costCents.length + " costs");
+		}
+		if (length == 0) {
+			return;
+		}
+		long[] bounds = pool.invoke(new Bounds(startEpochDays, numberOfDays, 0, length));
+		if (bounds[2] != 0) {
+			throw new IllegalArgumentException("numberOfDays must not be negative");
+		}
+		long span = bounds[1] - bounds[0];
+		if (usesTable(span, length)) {
+			int[] cumulative = cumulativeCents(bounds[0], (int)span + 1);
+			pool.invoke(new Price(startEpochDays, numberOfDays, costCents, cumulative, (int)bounds[0], 0, length));
+		} else {
+			pool.invoke(new Price(startEpochDays, numberOfDays, costCents, null, 0, 0, length));
+		}
+	}
+
+	//the table is sized by the span, not the batch, so a few queries years apart price faster one by one
+	static boolean usesTable(long span, int length) {
+		return span < MAX_TABLE_DAYS && span <= (long)MAX_DAYS_PER_QUERY * length;
+	}
+
+	//cumulative[k] is the cost of the k days from firstEpochDay on
+	static int[] cumulativeCents(long firstEpochDay, int length) {
+		int[] cumulative = new int[length];
+		LocalDate first = LocalDate.ofEpochDay(firstEpochDay);
+		YearMonth month = YearMonth.from(first);
+		int monthLength = month.lengthOfMonth();
+		int dayOfMonth = first.getDayOfMonth();
+		int dow = first.getDayOfWeek().getValue() - 1;
+		for (int k = 1; k < length; k++) {
+			cumulative[k] = cumulative[k - 1] + (dow < 5 ? BananaBudgetCalculator.weekdayCents(dayOfMonth) : 0);
+			if (++dow == 7) {
+				dow = 0;
+			}
+			if (++dayOfMonth > monthLength) {
+				dayOfMonth = 1;
+				month = month.plusMonths(1);
+				monthLength = month.lengthOfMonth();
+			}
+		}
+		return cumulative;
+	}
+
+	//the loop the JIT sees: sequential loads of the inputs, two gathers from the table, one store
+	static void priceRange(int[] startEpochDays, int[] numberOfDays, long[] costCents, int[] cumulative,
+			int firstEpochDay, int from, int to) {
+		for (int i = from; i < to; i++) {
+			int start = startEpochDays[i] - firstEpochDay;
+			costCents[i] = cumulative[start + numberOfDays[i]] - cumulative[start];
+		}
+	}
+
+	//min start, max end and whether any numberOfDays is negative
+	private static final class Bounds extends RecursiveTask<long[]> {
+		private final int[] startEpochDays;
+		private final int[] numberOfDays;
+		private final int from;
+		private final int to;
+
+		Bounds(int[] startEpochDays, int[] numberOfDays, int from, int to) {
+			this.startEpochDays = startEpochDays;
+			this.numberOfDays = numberOfDays;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected long[] compute() {
+			if (to - from > THRESHOLD) {
+				int mid = (from + to) >>> 1;
+				Bounds left = new Bounds(startEpochDays, numberOfDays, from, mid);
+				left.fork();
+				long[] right = new Bounds(startEpochDays, numberOfDays, mid, to).compute();
+				long[] joined = left.join();
+				return new long[] {Math.min(joined[0], right[0]), Math.max(joined[1], right[1]), joined[2] | right[2]};
+			}
+			long min = Long.MAX_VALUE;
+			long max = Long.MIN_VALUE;
+			int negative = 0;
+			for (int i = from; i < to; i++) {
+				int start = startEpochDays[i];
+				int days = numberOfDays[i];
+				min = Math.min(min, start);
+				max = Math.max(max, (long)start + days);
+				negative |= days;
+			}
+			return new long[] {min, max, negative >>> 31};
+		}
+	}
+
+	private static final class Price extends RecursiveAction {
+		private final int[] startEpochDays;
+		private final int[] numberOfDays;
+		private final long[] costCents;
+		//null when the batch spans too many days for a table
+		private final int[] cumulative;
+		private final int firstEpochDay;
+		private final int from;
+		private final int to;
+
+		Price(int[] startEpochDays, int[] numberOfDays, long[] costCents, int[] cumulative, int firstEpochDay,
+				int from, int to) {
+			this.startEpochDays = startEpochDays;
+			this.numberOfDays = numberOfDays;
+			this.costCents = costCents;
+			this.cumulative = cumulative;
+			this.firstEpochDay = firstEpochDay;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > THRESHOLD) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new Price(startEpochDays, numberOfDays, costCents, cumulative, firstEpochDay, from, mid),
+						new Price(startEpochDays, numberOfDays, costCents, cumulative, firstEpochDay, mid, to));
+			} else if (cumulative != null) {
+				priceRange(startEpochDays, numberOfDays, costCents, cumulative, firstEpochDay, from, to);
+			} else {
+				for (int i = from; i < to; i++) {
+					costCents[i] = BananaBudgetCalculator.totalCostCents(startEpochDays[i], numberOfDays[i]);
+				}
+			}
+		}
+	}
+}
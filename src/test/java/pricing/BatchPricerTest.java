@@ -0,0 +1,97 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchPricerTest {
+
+	//the start dates, lengths and costs BananaBudgetTest expects from the API
+	@Test
+	public void price_BananaBudgetTestCases_MatchTiers() {
+		LocalDate[] dates = {
+			LocalDate.of(2019, 3, 9), LocalDate.of(2019, 3, 1), LocalDate.of(2019, 3, 7), LocalDate.of(2019, 3, 8),
+			LocalDate.of(2019, 3, 14), LocalDate.of(2019, 3, 15), LocalDate.of(2019, 3, 21), LocalDate.of(2019, 3, 22),
+			LocalDate.of(2019, 3, 28), LocalDate.of(2019, 3, 29), LocalDate.of(2019, 5, 31),
+			LocalDate.of(2019, 3, 1), LocalDate.of(2019, 3, 8), LocalDate.of(2019, 3, 15), LocalDate.of(2019, 3, 22),
+			LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 1), LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1)
+		};
+		int[] days = {1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 7, 7, 7, 7, 31, 32, 365, 366};
+		long[] expected = {0, 5, 5, 10, 10, 15, 15, 20, 20, 25, 25, 25, 50, 75, 100, 325, 330, 3525, 3550};
+		int[] starts = new int[dates.length];
+		for (int i = 0; i < dates.length; i++) {
+			starts[i] = (int)dates[i].toEpochDay();
+		}
+		assertArrayEquals(BatchPricer.price(starts, days), expected);
+	}
+
+	@Test
+	public void price_RandomBatch_MatchesCalculator() {
+		SplittableRandom random = new SplittableRandom(7);
+		int first = (int)LocalDate.of(1900, 1, 1).toEpochDay();
+		int[] starts = new int[200_000];
+		int[] days = new int[starts.length];
+		for (int i = 0; i < starts.length; i++) {
+			starts[i] = first + random.nextInt(73_000);
+			days[i] = random.nextInt(0, 366);
+		}
+		long[] costs = new long[starts.length];
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			BatchPricer.price(starts, days, costs, pool);
+		} finally {
+			pool.shutdown();
+		}
+		for (int i = 0; i < starts.length; i++) {
+			assertEquals(costs[i], BananaBudgetCalculator.totalCostCents(starts[i], days[i]));
+		}
+	}
+
+	@Test
+	public void price_SpanTooWideForTable_MatchesCalculator() {
+		int[] starts = {(int)LocalDate.of(-30000, 2, 28).toEpochDay(), (int)LocalDate.of(2019, 1, 1).toEpochDay(),
+			(int)LocalDate.of(30000, 12, 1).toEpochDay()};
+		int[] days = {365, 365, 100};
+		long[] costs = BatchPricer.price(starts, days);
+		for (int i = 0; i < starts.length; i++) {
+			assertEquals(costs[i], BananaBudgetCalculator.totalCostCents(starts[i], days[i]));
+		}
+		assertEquals(costs[1], 3525L);
+	}
+
+	@Test
+	public void price_TwoQueriesYearsApart_PricedWithoutTable() {
+		int[] starts = {(int)LocalDate.of(1900, 1, 1).toEpochDay(), (int)LocalDate.of(2100, 1, 1).toEpochDay()};
+		int[] days = {365, 365};
+		long span = starts[1] + days[1] - starts[0];
+		assertFalse(BatchPricer.usesTable(span, starts.length));
+		assertTrue(BatchPricer.usesTable(span, (int)(span / BatchPricer.MAX_DAYS_PER_QUERY) + 1));
+		long[] costs = BatchPricer.price(starts, days);
+		for (int i = 0; i < starts.length; i++) {
+			assertEquals(costs[i], BananaBudgetCalculator.totalCostCents(starts[i], days[i]));
+		}
+	}
+
+	@Test
+	public void cumulativeCents_MatchesDailyCosts() {
+		LocalDate first = LocalDate.of(2019, 12, 15);
+		int[] cumulative = BatchPricer.cumulativeCents(first.toEpochDay(), 800);
+		for (int k = 1; k < cumulative.length; k++) {
+			assertEquals(cumulative[k] - cumulative[k - 1], BananaBudgetCalculator.dayCostCents(first.plusDays(k - 1)));
+		}
+	}
+
+	@Test
+	public void price_InvalidBatch_Throws() {
+		assertThrows(IllegalArgumentException.class, () -> BatchPricer.price(new int[2], new int[3]));
+		assertThrows(IllegalArgumentException.class, () -> BatchPricer.price(new int[2], new int[] {1, -1}));
+		assertEquals(BatchPricer.price(new int[0], new int[0]).length, 0);
+	}
+}
@@ -0,0 +1,37 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+
+/**
+ * Input rules of the budget API as documented in the README, see {@link StartDateParser}.
+ */
+public final class BudgetRules {
+
+	public static final String INVALID_START_DATE = "Invalid startDate";
+	public static final String INVALID_NUM_DAYS = "Invalid numberOfDays";
+	public static final String MUST_PROVIDE_PARAMS = "Must provide startDate and numberOfDays";
+
+	public static final int MIN_NUM = 1;
+	public static final int MAX_NUM = 365;
+
+	private BudgetRules() {
+	}
+
+	public static boolean isMissing(String param) {
+		return param == null || param.isEmpty();
+	}
+
+	//returns null when the date is not valid
+	public static LocalDate parseStartDate(String startDate) {
+		int packed = StartDateParser.parse(startDate);
+		if (!StartDateParser.isValid(packed)) {
+			return null;
+		}
+		return LocalDate.of(StartDateParser.year(packed), StartDateParser.month(packed), StartDateParser.day(packed));
+	}
+
+	//returns -1 when the number of days is not valid
+	public static int parseNumberOfDays(String numberOfDays) {
+		return StartDateParser.parseNumberOfDays(numberOfDays);
+	}
+}
@@ -0,0 +1,129 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import test.java.pojo.Money;
+
+/**
+ * Prefix sums of the daily banana cost over a fixed range of years, so the total of any window
+ * inside the range is two array reads. Years are built on first use; each built year holds a
+ * short per cumulative day and a byte per daily cost, about {@value #BYTES_PER_YEAR} bytes.
+ */
+public final class CostIndex {
+	//367 cumulative shorts, 366 daily bytes and the array and block headers
+	public static final int BYTES_PER_YEAR = 367 * 2 + 366 + 64;
+
+	private final int firstYear;
+	private final long[] yearStarts;
+	private final AtomicReferenceArray<YearBlock> blocks;
+	private final AtomicInteger builtYears = new AtomicInteger();
+
+	public CostIndex(int firstYear, int lastYear) {
+		if (lastYear < firstYear) {
+			throw new IllegalArgumentException("lastYear " + lastYear + " is before firstYear " + firstYear);
+		}
+		this.firstYear = firstYear;
+		int years = lastYear - firstYear + 1;
+		this.yearStarts = new long[years + 1];
+		for (int i = 0; i <= years; i++) {
+			yearStarts[i] = LocalDate.of(firstYear + i, 1, 1).toEpochDay();
+		}
+		this.blocks = new AtomicReferenceArray<>(years);
+	}
+
+	public long totalCostCents(LocalDate startDate, int numberOfDays) {
+		return totalCostCents(startDate.toEpochDay(), numberOfDays);
+	}
+
+	public long totalCostCents(long startEpochDay, int numberOfDays) {
+		if (numberOfDays < 0) {
+			throw new IllegalArgumentException("numberOfDays must not be negative: " + numberOfDays);
+		}
+		return cumulativeCents(startEpochDay + numberOfDays) - cumulativeCents(startEpochDay);
+	}
+
+	public Money totalCost(LocalDate startDate, int numberOfDays) {
+		return Money.ofCents(totalCostCents(startDate, numberOfDays));
+	}
+
+	public int dayCostCents(LocalDate date) {
+		long epochDay = date.toEpochDay();
+		int year = yearIndex(epochDay, false);
+		return block(year).dayCost[(int)(epochDay - yearStarts[year])];
+	}
+
+	public int getBuiltYears() {
+		return builtYears.get();
+	}
+
+	public long getMemoryBytes() {
+		return (long)builtYears.get() * BYTES_PER_YEAR + yearStarts.length * 8L;
+	}
+
+	private long cumulativeCents(long epochDay) {
+		int year = yearIndex(epochDay, true);
+		YearBlock block = block(year);
+		return block.base + block.cumulative[(int)(epochDay - yearStarts[year])];
+	}
+
+	//the day after the last indexed day is a valid window end, it is the last day of its year block
+	private int yearIndex(long epochDay, boolean allowEnd) {
+		int years = yearStarts.length - 1;
+		long end = yearStarts[years];
+		if (epochDay < yearStarts[0] || epochDay > end || (epochDay == end && !allowEnd)) {
+			throw new IllegalArgumentException(LocalDate.ofEpochDay(epochDay) + " is outside the indexed years "
+					+ firstYear + "-" + (firstYear + years - 1));
+		}
+		if (epochDay == end) {
+			return years - 1;
+		}
+		int year = (int)((epochDay - yearStarts[0]) * 400 / 146097);
+		while (year + 1 < years && yearStarts[year + 1] <= epochDay) {
+			year++;
+		}
+		while (yearStarts[year] > epochDay) {
+			year--;
+		}
+		return year;
+	}
+
+	private YearBlock block(int year) {
+		YearBlock block = blocks.get(year);
+		if (block == null) {
+			YearBlock built = YearBlock.build(firstYear + year);
+			if (blocks.compareAndSet(year, null, built)) {
+				builtYears.incrementAndGet();
+				block = built;
+			} else {
+				block = blocks.get(year);
+			}
+		}
+		return block;
+	}
+
+	private static final class YearBlock {
+		final long base;
+		final short[] cumulative;
+		final byte[] dayCost;
+
+		private YearBlock(long base, short[] cumulative, byte[] dayCost) {
+			this.base = base;
+			this.cumulative = cumulative;
+			this.dayCost = dayCost;
+		}
+
+		static YearBlock build(int year) {
+			LocalDate first = LocalDate.of(year, 1, 1);
+			int length = Year.isLeap(year) ? 366 : 365;
+			short[] cumulative = new short[length + 1];
+			byte[] dayCost = new byte[length];
+			for (int i = 0; i < length; i++) {
+				dayCost[i] = (byte)BananaBudgetCalculator.dayCostCents(first.plusDays(i));
+				cumulative[i + 1] = (short)(cumulative[i] + dayCost[i]);
+			}
+			return new YearBlock(BananaBudgetCalculator.cumulativeCents(first), cumulative, dayCost);
+		}
+	}
+}
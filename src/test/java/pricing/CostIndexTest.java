@@ -0,0 +1,53 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import test.java.pojo.Money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CostIndexTest {
+
+	@Test
+	public void totalCost_KnownWindows_MatchExpected() {
+		CostIndex index = new CostIndex(2019, 2020);
+		assertEquals(index.totalCost(LocalDate.of(2019, 1, 1), 31), Money.parse("3.25"));
+		assertEquals(index.totalCost(LocalDate.of(2019, 1, 1), 32), Money.parse("3.30"));
+		assertEquals(index.totalCost(LocalDate.of(2019, 1, 1), 365), Money.parse("35.25"));
+		assertEquals(index.totalCost(LocalDate.of(2020, 1, 1), 366), Money.parse("35.50"));
+		assertEquals(index.totalCost(LocalDate.of(2019, 3, 22), 7), Money.parse("1.00"));
+		assertEquals(index.dayCostCents(LocalDate.of(2019, 5, 31)), 25);
+	}
+
+	@Test
+	public void totalCost_RandomWindows_MatchCalculator() {
+		CostIndex index = new CostIndex(1990, 2050);
+		Random random = new Random(3650L);
+		long first = LocalDate.of(1990, 1, 1).toEpochDay();
+		long end = LocalDate.of(2051, 1, 1).toEpochDay();
+		for (int i = 0; i < 20000; i++) {
+			int numberOfDays = random.nextInt(1000);
+			long start = first + (long)(random.nextDouble() * (end - first - numberOfDays + 1));
+			assertEquals(index.totalCostCents(start, numberOfDays), BananaBudgetCalculator.totalCostCents(start, numberOfDays));
+		}
+	}
+
+	@Test
+	public void totalCost_LastDayOfRange_Allowed() {
+		CostIndex index = new CostIndex(2019, 2019);
+		assertEquals(index.totalCostCents(LocalDate.of(2019, 12, 31), 1), 25L);
+		assertThrows(IllegalArgumentException.class, () -> index.totalCostCents(LocalDate.of(2019, 12, 31), 2));
+		assertThrows(IllegalArgumentException.class, () -> index.totalCostCents(LocalDate.of(2018, 12, 31), 1));
+		assertThrows(IllegalArgumentException.class, () -> index.dayCostCents(LocalDate.of(2020, 1, 1)));
+	}
+
+	@Test
+	public void totalCost_FewQueries_BuildOnlyTouchedYears() {
+		CostIndex index = new CostIndex(1900, 2099);
+		index.totalCostCents(LocalDate.of(2019, 1, 1), 365);
+		assertEquals(index.getBuiltYears(), 2);
+		assertEquals(index.getMemoryBytes(), 2L * CostIndex.BYTES_PER_YEAR + 201 * 8L);
+	}
+}
@@ -0,0 +1,69 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import test.java.pojo.Money;
+
+/**
+ * Per-day cost events from a start date, produced lazily as the stream is consumed. Each event
+ * carries that day's cost and the running total since the start date.
+ */
+public final class CostTimeline {
+
+	private CostTimeline() {
+	}
+
+	//unbounded, limit it or use the two-argument form
+	public static Stream<DayCost> from(LocalDate startDate) {
+		return Stream.iterate(DayCost.first(startDate), DayCost::next);
+	}
+
+	public static Stream<DayCost> of(LocalDate startDate, int numberOfDays) {
+		return from(startDate).limit(numberOfDays);
+	}
+
+	public static final class DayCost {
+		private final LocalDate date;
+		private final int costCents;
+		private final long runningTotalCents;
+
+		private DayCost(LocalDate date, int costCents, long runningTotalCents) {
+			this.date = date;
+			this.costCents = costCents;
+			this.runningTotalCents = runningTotalCents;
+		}
+
+		static DayCost first(LocalDate date) {
+			int cost = BananaBudgetCalculator.dayCostCents(date);
+			return new DayCost(date, cost, cost);
+		}
+
+		DayCost next() {
+			LocalDate nextDate = date.plusDays(1);
+			int cost = BananaBudgetCalculator.dayCostCents(nextDate);
+			return new DayCost(nextDate, cost, runningTotalCents + cost);
+		}
+
+		public LocalDate getDate() {
+			return date;
+		}
+
+		public int getCostCents() {
+			return costCents;
+		}
+
+		//cost of every day from the start date up to and including this one
+		public long getRunningTotalCents() {
+			return runningTotalCents;
+		}
+
+		public Money getRunningTotal() {
+			return Money.ofCents(runningTotalCents);
+		}
+
+		@Override
+		public String toString() {
+			return "DayCost[date=" + date + ", costCents=" + costCents + ", runningTotalCents=" + runningTotalCents + "]";
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.stream.Stream;
+import test.java.pojo.Money;
+
+/**
+ * The cost of numberOfDays consecutive days from a start date. A window is priced once in O(1),
+ * after which {@link #extend()} and {@link #slide()} derive the next window from this one by
+ * adding or swapping a single day, so a rolling budget never recomputes the whole window.
+ */
+public final class CostWindow {
+	private final long startEpochDay;
+	private final int numberOfDays;
+	private final long totalCents;
+
+	private CostWindow(long startEpochDay, int numberOfDays, long totalCents) {
+		this.startEpochDay = startEpochDay;
+		this.numberOfDays = numberOfDays;
+		this.totalCents = totalCents;
+	}
+
+	public static CostWindow of(LocalDate startDate, int numberOfDays) {
+		return new CostWindow(startDate.toEpochDay(), numberOfDays,
+				BananaBudgetCalculator.totalCostCents(startDate, numberOfDays));
+	}
+
+	//the same window one day longer
+	public CostWindow extend() {
+		return new CostWindow(startEpochDay, numberOfDays + 1, totalCents + dayCostCents(startEpochDay + numberOfDays));
+	}
+
+	//the same length one day later
+	public CostWindow slide() {
+		return new CostWindow(startEpochDay + 1, numberOfDays,
+				totalCents - dayCostCents(startEpochDay) + dayCostCents(startEpochDay + numberOfDays));
+	}
+
+	//this window followed by every window of the same length starting a day later, computed as they are consumed
+	public Stream<CostWindow> rolling() {
+		return Stream.iterate(this, CostWindow::slide);
+	}
+
+	private static int dayCostCents(long epochDay) {
+		return BananaBudgetCalculator.dayCostCents(LocalDate.ofEpochDay(epochDay));
+	}
+
+	public LocalDate getStartDate() {
+		return LocalDate.ofEpochDay(startEpochDay);
+	}
+
+	//first day after the window
+	public LocalDate getEndDate() {
+		return LocalDate.ofEpochDay(startEpochDay + numberOfDays);
+	}
+
+	public int getNumberOfDays() {
+		return numberOfDays;
+	}
+
+	public long getTotalCents() {
+		return totalCents;
+	}
+
+	public Money getTotalCost() {
+		return Money.ofCents(totalCents);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof CostWindow)) {
+			return false;
+		}
+		CostWindow other = (CostWindow)o;
+		return startEpochDay == other.startEpochDay && numberOfDays == other.numberOfDays && totalCents == other.totalCents;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(startEpochDay, numberOfDays, totalCents);
+	}
+
+	@Override
+	public String toString() {
+		return "CostWindow[start=" + getStartDate() + ", numberOfDays=" + numberOfDays + ", totalCost=" + getTotalCost() + "]";
+	}
+}
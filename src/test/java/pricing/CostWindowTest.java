@@ -0,0 +1,67 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import test.java.pojo.Money;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CostWindowTest {
+
+	@Test
+	public void extend_FromEmpty_MatchesCalculatorAtEveryLength() {
+		LocalDate start = LocalDate.of(2019, 1, 1);
+		CostWindow window = CostWindow.of(start, 0);
+		for (int days = 1; days <= 1000; days++) {
+			window = window.extend();
+			assertEquals(window.getNumberOfDays(), days);
+			assertEquals(window.getTotalCents(), BananaBudgetCalculator.totalCostCents(start, days));
+		}
+		assertEquals(CostWindow.of(start, 364).extend().getTotalCost(), Money.parse("35.25"));
+	}
+
+	@Test
+	public void slide_OverSeveralYears_MatchesCalculator() {
+		CostWindow window = CostWindow.of(LocalDate.of(2019, 12, 15), 365);
+		for (int i = 0; i < 3 * 366; i++) {
+			assertEquals(window.getTotalCents(), BananaBudgetCalculator.totalCostCents(window.getStartDate(), 365));
+			window = window.slide();
+		}
+		assertEquals(window.getStartDate(), LocalDate.of(2019, 12, 15).plusDays(3 * 366));
+	}
+
+	@Test
+	public void rolling_Limited_YieldsConsecutiveWindows() {
+		List<CostWindow> windows = CostWindow.of(LocalDate.of(2020, 2, 1), 30).rolling().limit(60).collect(Collectors.toList());
+		assertEquals(windows.size(), 60);
+		for (int i = 0; i < windows.size(); i++) {
+			assertEquals(windows.get(i), CostWindow.of(LocalDate.of(2020, 2, 1).plusDays(i), 30));
+		}
+		assertEquals(windows.get(0).getEndDate(), LocalDate.of(2020, 3, 2));
+	}
+
+	@Test
+	public void timeline_RunningTotals_MatchCalculator() {
+		LocalDate start = LocalDate.of(2019, 2, 10);
+		List<CostTimeline.DayCost> days = CostTimeline.of(start, 365).collect(Collectors.toList());
+		assertEquals(days.size(), 365);
+		for (int i = 0; i < days.size(); i++) {
+			CostTimeline.DayCost day = days.get(i);
+			assertEquals(day.getDate(), start.plusDays(i));
+			assertEquals(day.getCostCents(), BananaBudgetCalculator.dayCostCents(day.getDate()));
+			assertEquals(day.getRunningTotalCents(), BananaBudgetCalculator.totalCostCents(start, i + 1));
+		}
+	}
+
+	@Test
+	public void timeline_Unbounded_ComputesOnlyWhatIsConsumed() {
+		Iterator<CostTimeline.DayCost> timeline = CostTimeline.from(LocalDate.of(2019, 3, 1)).iterator();
+		//friday the 1st, then a free weekend
+		assertEquals(timeline.next().getCostCents(), 5);
+		assertEquals(timeline.next().getCostCents(), 0);
+		assertEquals(timeline.next().getRunningTotal(), Money.parse("0.05"));
+	}
+}
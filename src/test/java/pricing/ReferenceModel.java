@@ -0,0 +1,87 @@
+package test.java.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * What the budget API is expected to answer for a raw (startDate, numberOfDays) pair.
+ */
+public final class ReferenceModel {
+
+	private ReferenceModel() {
+	}
+
+	public static Answer answer(String startDate, String numberOfDays) {
+		if (BudgetRules.isMissing(startDate) || BudgetRules.isMissing(numberOfDays)) {
+			return Answer.error(BudgetRules.MUST_PROVIDE_PARAMS);
+		}
+		LocalDate date = BudgetRules.parseStartDate(startDate);
+		if (date == null) {
+			return Answer.error(BudgetRules.INVALID_START_DATE);
+		}
+		int days = BudgetRules.parseNumberOfDays(numberOfDays);
+		if (days < 0) {
+			return Answer.error(BudgetRules.INVALID_NUM_DAYS);
+		}
+		return Answer.ok(BananaBudgetCalculator.totalCostCents(date, days));
+	}
+
+	public static final class Answer {
+		public static final int OK = 200;
+		public static final int BAD_REQUEST = 400;
+
+		private final int status;
+		private final String error;
+		private final long costCents;
+
+		public Answer(int status, String error, long costCents) {
+			this.status = status;
+			this.error = error;
+			this.costCents = costCents;
+		}
+
+		public static Answer ok(long costCents) {
+			return new Answer(OK, null, costCents);
+		}
+
+		public static Answer error(String error) {
+			return new Answer(BAD_REQUEST, error, 0);
+		}
+
+		public int getStatus() {
+			return status;
+		}
+
+		public String getError() {
+			return error;
+		}
+
+		public long getCostCents() {
+			return costCents;
+		}
+
+		public boolean isOk() {
+			return status == OK;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Answer)) {
+				return false;
+			}
+			Answer other = (Answer)o;
+			return status == other.status && costCents == other.costCents && Objects.equals(error, other.error);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(status, error, costCents);
+		}
+
+		@Override
+		public String toString() {
+			return isOk() ? status + " $" + BigDecimal.valueOf(costCents, 2) : status + " " + error;
+		}
+	}
+}
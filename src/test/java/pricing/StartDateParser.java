@@ -0,0 +1,186 @@
+package test.java.pricing;
+
+/**
+ * Allocation-free parser for the startDate grammar in the README: two-digit month, two-digit day
+ * and four-digit year, separated by runs of "-", "/", "." or ",", each field optionally preceded
+ * by whitespace. A run of several delimiters ending in "-" reads as a negative field.
+ * Dates come back packed as year << 9 | month << 5 | day, failures as a negative error code.
+ */
+public final class StartDateParser {
+	public static final int ERROR_MISSING = -1;
+	public static final int ERROR_FORMAT = -2;
+	public static final int ERROR_NEGATIVE = -3;
+	public static final int ERROR_MONTH = -4;
+	public static final int ERROR_DAY = -5;
+	public static final int ERROR_YEAR = -6;
+
+	private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+	private StartDateParser() {
+	}
+
+	public static int parse(CharSequence text) {
+		if (text == null) {
+			return ERROR_MISSING;
+		}
+		int length = text.length();
+		char[] buffer = BUFFER.get();
+		if (buffer.length < length) {
+			buffer = new char[Math.max(length, buffer.length * 2)];
+			BUFFER.set(buffer);
+		}
+		if (text instanceof String) {
+			((String)text).getChars(0, length, buffer, 0);
+		} else {
+			for (int i = 0; i < length; i++) {
+				buffer[i] = text.charAt(i);
+			}
+		}
+		return parse(buffer, 0, length);
+	}
+
+	public static int parse(char[] text, int offset, int length) {
+		if (length == 0) {
+			return ERROR_MISSING;
+		}
+		int end = offset + length;
+		int i = skipWhitespace(text, offset, end);
+		int month = digits(text, i, end, 2);
+		if (month < 0) {
+			return i < end && text[i] == '-' ? ERROR_NEGATIVE : ERROR_FORMAT;
+		}
+		i += 2;
+		int run = delimiters(text, i, end);
+		if (run <= 0) {
+			return run < 0 ? ERROR_NEGATIVE : ERROR_FORMAT;
+		}
+		i = skipWhitespace(text, i + run, end);
+		int day = digits(text, i, end, 2);
+		if (day < 0) {
+			return ERROR_FORMAT;
+		}
+		i += 2;
+		run = delimiters(text, i, end);
+		if (run <= 0) {
+			return run < 0 ? ERROR_NEGATIVE : ERROR_FORMAT;
+		}
+		i = skipWhitespace(text, i + run, end);
+		int year = digits(text, i, end, 4);
+		if (year < 0 || i + 4 != end) {
+			return ERROR_FORMAT;
+		}
+		if (month < 1 || month > 12) {
+			return ERROR_MONTH;
+		}
+		if (year < 1) {
+			return ERROR_YEAR;
+		}
+		if (day < 1 || day > daysInMonth(year, month)) {
+			return ERROR_DAY;
+		}
+		return year << 9 | month << 5 | day;
+	}
+
+	public static boolean isValid(int packed) {
+		return packed >= 0;
+	}
+
+	public static int year(int packed) {
+		return packed >>> 9;
+	}
+
+	public static int month(int packed) {
+		return (packed >>> 5) & 0xF;
+	}
+
+	public static int day(int packed) {
+		return packed & 0x1F;
+	}
+
+	//days since 01/01/1970, from the civil calendar arithmetic without building a LocalDate
+	public static long toEpochDay(int packed) {
+		long y = year(packed);
+		int m = month(packed);
+		int d = day(packed);
+		if (m <= 2) {
+			y--;
+		}
+		long era = Math.floorDiv(y, 400);
+		long yearOfEra = y - era * 400;
+		int shiftedMonth = m > 2 ? m - 3 : m + 9;
+		long dayOfYear = (153 * shiftedMonth + 2) / 5 + d - 1;
+		long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+		return era * 146097 + dayOfEra - 719468;
+	}
+
+	//returns -1 for anything other than 1..365 written with digits only, leading zeroes allowed
+	public static int parseNumberOfDays(CharSequence text) {
+		int length = text.length();
+		if (length == 0) {
+			return -1;
+		}
+		int value = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+			if (value > BudgetRules.MAX_NUM) {
+				value = BudgetRules.MAX_NUM + 1;
+			}
+		}
+		return value < BudgetRules.MIN_NUM || value > BudgetRules.MAX_NUM ? -1 : value;
+	}
+
+	static int daysInMonth(int year, int month) {
+		if (month == 2 && (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) {
+			return 29;
+		}
+		return DAYS_IN_MONTH[month];
+	}
+
+	private static int skipWhitespace(char[] text, int i, int end) {
+		while (i < end && isWhitespace(text[i])) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+	}
+
+	private static int digits(char[] text, int i, int end, int count) {
+		if (i + count > end) {
+			return -1;
+		}
+		int value = 0;
+		for (int j = i; j < i + count; j++) {
+			char c = text[j];
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	//length of the delimiter run at i, or -1 when the run ends in a sign
+	private static int delimiters(char[] text, int i, int end) {
+		int start = i;
+		while (i < end && isDelimiter(text[i])) {
+			i++;
+		}
+		int run = i - start;
+		if (run > 1 && text[i - 1] == '-') {
+			return -1;
+		}
+		return run;
+	}
+
+	private static boolean isDelimiter(char c) {
+		return c == '/' || c == '-' || c == '.' || c == ',';
+	}
+}
@@ -0,0 +1,144 @@
+package test.java.pricing;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StartDateParserTest {
+
+	//the grammar as a regular expression, used as the oracle for random inputs
+	private static final Pattern GRAMMAR = Pattern.compile("\\s*(\\d{2})([-/.,]*[/.,]|-)\\s*(\\d{2})([-/.,]*[/.,]|-)\\s*(\\d{4})");
+
+	private static boolean regexValid(String date) {
+		Matcher matcher = GRAMMAR.matcher(date);
+		if (!matcher.matches()) {
+			return false;
+		}
+		int month = Integer.parseInt(matcher.group(1));
+		int day = Integer.parseInt(matcher.group(3));
+		int year = Integer.parseInt(matcher.group(5));
+		return year >= 1 && month >= 1 && month <= 12 && day >= 1
+				&& day <= java.time.Month.of(month).length(Year.isLeap(year));
+	}
+
+	private static void assertValid(String date, int year, int month, int day) {
+		int packed = StartDateParser.parse(date);
+		assertTrue(StartDateParser.isValid(packed), date);
+		assertEquals(StartDateParser.year(packed), year);
+		assertEquals(StartDateParser.month(packed), month);
+		assertEquals(StartDateParser.day(packed), day);
+	}
+
+	private static void assertError(String date, int error) {
+		assertEquals(StartDateParser.parse(date), error, date);
+	}
+
+	@Test
+	public void parse_Delimiters_Valid() {
+		assertValid("02-10-2019", 2019, 2, 10);
+		assertValid("02/10/2019", 2019, 2, 10);
+		assertValid("02.10.2019", 2019, 2, 10);
+		assertValid("02,10,2019", 2019, 2, 10);
+		assertValid("02,//10,....2019", 2019, 2, 10);
+		assertValid("    01/01/2020", 2020, 1, 1);
+		assertValid("01/    01/2020", 2020, 1, 1);
+		assertValid("01/01/    2020", 2020, 1, 1);
+		assertValid("02/29/2020", 2020, 2, 29);
+		assertValid("12/31/9999", 9999, 12, 31);
+	}
+
+	@Test
+	public void parse_Malformed_Format() {
+		assertError("02\\10\\2019", StartDateParser.ERROR_FORMAT);
+		assertError("Feb.10,2019", StartDateParser.ERROR_FORMAT);
+		assertError("2/10/2019", StartDateParser.ERROR_FORMAT);
+		assertError("02/9/2019", StartDateParser.ERROR_FORMAT);
+		assertError("02/10/19", StartDateParser.ERROR_FORMAT);
+		assertError("2019/10/10", StartDateParser.ERROR_FORMAT);
+		assertError("01/01/200", StartDateParser.ERROR_FORMAT);
+		assertError("01012020", StartDateParser.ERROR_FORMAT);
+		assertError("0001/01/2020", StartDateParser.ERROR_FORMAT);
+		assertError("01/0001/2020", StartDateParser.ERROR_FORMAT);
+		assertError("01/01/0002020", StartDateParser.ERROR_FORMAT);
+		assertError("01/one/2020", StartDateParser.ERROR_FORMAT);
+		assertError("01/01/2020 ", StartDateParser.ERROR_FORMAT);
+		assertError("", StartDateParser.ERROR_MISSING);
+	}
+
+	@Test
+	public void parse_Negative_Negative() {
+		assertError("-00/01/2020", StartDateParser.ERROR_NEGATIVE);
+		assertError("01/-00/2020", StartDateParser.ERROR_NEGATIVE);
+		assertError("01/01/-2019", StartDateParser.ERROR_NEGATIVE);
+	}
+
+	@Test
+	public void parse_OutOfRange_FieldError() {
+		assertError("00/01/2020", StartDateParser.ERROR_MONTH);
+		assertError("13/01/2020", StartDateParser.ERROR_MONTH);
+		assertError("01/00/2020", StartDateParser.ERROR_DAY);
+		assertError("01/32/2019", StartDateParser.ERROR_DAY);
+		assertError("04/31/2019", StartDateParser.ERROR_DAY);
+		assertError("02/29/2019", StartDateParser.ERROR_DAY);
+		assertError("02/29/1900", StartDateParser.ERROR_DAY);
+		assertError("01/01/0000", StartDateParser.ERROR_YEAR);
+	}
+
+	@Test
+	public void parse_CharArraySlice_Valid() {
+		char[] chars = "xx03/01/2019yy".toCharArray();
+		assertEquals(StartDateParser.parse(chars, 2, 10), StartDateParser.parse("03/01/2019"));
+	}
+
+	@Test
+	public void parse_RandomInputs_MatchGrammar() {
+		Random random = new Random(2019L);
+		String alphabet = "0123456789012345678901234567890123456789/-.,/-.,  \\a";
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200000; i++) {
+			sb.setLength(0);
+			if (random.nextBoolean()) {
+				sb.append(String.format("%02d", random.nextInt(14))).append(alphabet.charAt(40 + random.nextInt(8)))
+						.append(String.format("%02d", random.nextInt(33))).append(alphabet.charAt(40 + random.nextInt(8)))
+						.append(String.format("%04d", random.nextInt(3000)));
+				if (random.nextInt(4) == 0) {
+					sb.insert(random.nextInt(sb.length() + 1), alphabet.charAt(random.nextInt(alphabet.length())));
+				}
+			} else {
+				int length = random.nextInt(14);
+				for (int j = 0; j < length; j++) {
+					sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+				}
+			}
+			String date = sb.toString();
+			assertEquals(StartDateParser.isValid(StartDateParser.parse(date)), regexValid(date), date);
+		}
+	}
+
+	@Test
+	public void toEpochDay_AllDays_MatchLocalDate() {
+		for (LocalDate date = LocalDate.of(1, 1, 1); date.getYear() < 3000; date = date.plusDays(17)) {
+			int packed = date.getYear() << 9 | date.getMonthValue() << 5 | date.getDayOfMonth();
+			assertEquals(StartDateParser.toEpochDay(packed), date.toEpochDay());
+		}
+	}
+
+	@Test
+	public void parseNumberOfDays_Inputs_MatchRules() {
+		assertEquals(StartDateParser.parseNumberOfDays("20"), 20);
+		assertEquals(StartDateParser.parseNumberOfDays("00020"), 20);
+		assertEquals(StartDateParser.parseNumberOfDays("365"), 365);
+		assertEquals(StartDateParser.parseNumberOfDays("366"), -1);
+		assertEquals(StartDateParser.parseNumberOfDays("0"), -1);
+		assertEquals(StartDateParser.parseNumberOfDays("-1"), -1);
+		assertEquals(StartDateParser.parseNumberOfDays("twenty"), -1);
+		assertEquals(StartDateParser.parseNumberOfDays("99999999999999"), -1);
+		assertEquals(StartDateParser.parseNumberOfDays(""), -1);
+	}
+}
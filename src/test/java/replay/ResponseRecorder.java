@@ -0,0 +1,121 @@
+package test.java.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends (key, status, content type, body) records to a response store. Records are length
+ * prefixed, so a store cut short by a crash still replays everything before the torn record, and
+ * reopening such a store cuts the torn record off before appending. Each record is flushed as it
+ * is written.
+ *
+ * <pre>
+ * header: int magic, int version
+ * record: int length, short keyChars, char[] key, short status, short typeBytes, byte[] type, int bodyBytes, byte[] body
+ * </pre>
+ */
+public class ResponseRecorder implements Closeable {
+	static final int MAGIC = 0x42425252;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 8;
+
+	private final DataOutputStream out;
+
+	/**
+	 * @throws IOException when the file is not empty and not a response store
+	 */
+	public ResponseRecorder(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			long end = completeLength(channel, file);
+			if (end < channel.size()) {
+				channel.truncate(end);
+			}
+			channel.position(end);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+		if (channel.size() == 0) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.flush();
+		}
+	}
+
+	//the length of the header and every complete record, 0 when not even the header made it to disk
+	private static long completeLength(FileChannel channel, Path file) throws IOException {
+		long size = channel.size();
+		if (size < HEADER_BYTES) {
+			return 0;
+		}
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		readFully(channel, header, 0);
+		if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+			throw new IOException("Not a version " + VERSION + " response store: " + file);
+		}
+		ByteBuffer length = ByteBuffer.allocate(4);
+		long offset = HEADER_BYTES;
+		while (size - offset >= 4) {
+			readFully(channel, length, offset);
+			int recordBytes = length.getInt(0);
+			if (recordBytes <= 0 || recordBytes > size - offset - 4) {
+				break;
+			}
+			offset += 4 + recordBytes;
+		}
+		return offset;
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		buffer.clear();
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Response store shrank while being opened");
+			}
+		}
+	}
+
+	//host and port are left out so a recording made against one server replays for any other
+	public static String keyOf(URI uri) {
+		String query = uri.getRawQuery();
+		return query == null ? uri.getRawPath() : uri.getRawPath() + '?' + query;
+	}
+
+	public synchronized void record(String key, int status, String contentType, byte[] body) throws IOException {
+		byte[] type = contentType == null ? new byte[0] : contentType.getBytes(StandardCharsets.UTF_8);
+		if (key.length() > 0xFFFF || type.length > 0xFFFF) {
+			throw new IOException("Key or content type too long to record: " + key);
+		}
+		out.writeInt(2 + key.length() * 2 + 2 + 2 + type.length + 4 + body.length);
+		out.writeShort(key.length());
+		out.writeChars(key);
+		out.writeShort(status);
+		out.writeShort(type.length);
+		out.write(type);
+		out.writeInt(body.length);
+		out.write(body);
+		//one write per record, a crash loses at most the record being written
+		out.flush();
+	}
+
+	public synchronized void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		out.close();
+	}
+}
@@ -0,0 +1,176 @@
+package test.java.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a store written by {@link ResponseRecorder}. The file is memory-mapped and
+ * indexed by an open-addressing hash table in direct memory, so a lookup hashes and compares the
+ * key in place and a body is handed out as a view of the mapping, never copied onto the heap.
+ * When a key was recorded more than once the last record wins.
+ */
+public class ResponseReplay implements Closeable {
+	private final MappedByteBuffer store;
+	//slot: hash in the high int, record offset + 1 in the low int, 0 when empty
+	private final ByteBuffer index;
+	private final int mask;
+	private final int size;
+
+	public ResponseReplay(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Response store larger than 2GB: " + file);
+			}
+			store = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		if (store.limit() < ResponseRecorder.HEADER_BYTES || store.getInt(0) != ResponseRecorder.MAGIC) {
+			throw new IOException("Not a response store: " + file);
+		}
+		if (store.getInt(4) != ResponseRecorder.VERSION) {
+			throw new IOException("Unsupported response store version " + store.getInt(4) + ": " + file);
+		}
+		int records = 0;
+		int offset = ResponseRecorder.HEADER_BYTES;
+		while (offset + 4 <= store.limit()) {
+			int length = store.getInt(offset);
+			if (length <= 0 || length > store.limit() - offset - 4) {
+				break;
+			}
+			offset += 4 + length;
+			records++;
+		}
+		int capacity = Integer.highestOneBit(Math.max(records, 1) * 2 - 1) << 1;
+		index = ByteBuffer.allocateDirect(capacity * 8);
+		mask = capacity - 1;
+		int distinct = 0;
+		offset = ResponseRecorder.HEADER_BYTES;
+		for (int i = 0; i < records; i++) {
+			if (put(offset)) {
+				distinct++;
+			}
+			offset += 4 + store.getInt(offset);
+		}
+		size = distinct;
+	}
+
+	private boolean put(int record) {
+		int keyLength = store.getChar(record + 4);
+		int hash = hash(record + 6, keyLength);
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+			long entry = index.getLong(slot * 8);
+			if (entry == 0) {
+				index.putLong(slot * 8, (long)hash << 32 | (record + 1L));
+				return true;
+			}
+			int existing = (int)entry - 1;
+			if ((int)(entry >>> 32) == hash && store.getChar(existing + 4) == keyLength
+					&& keyEquals(existing, record + 6, keyLength)) {
+				index.putLong(slot * 8, (long)hash << 32 | (record + 1L));
+				return false;
+			}
+		}
+	}
+
+	//FNV-1a over the key's chars
+	private int hash(int position, int length) {
+		int hash = 0x811c9dc5;
+		for (int i = 0; i < length; i++) {
+			hash = (hash ^ store.getChar(position + i * 2)) * 16777619;
+		}
+		return hash;
+	}
+
+	private static int hash(CharSequence key) {
+		int hash = 0x811c9dc5;
+		for (int i = 0; i < key.length(); i++) {
+			hash = (hash ^ key.charAt(i)) * 16777619;
+		}
+		return hash;
+	}
+
+	private boolean keyEquals(int record, int position, int length) {
+		for (int i = 0; i < length; i++) {
+			if (store.getChar(record + 6 + i * 2) != store.getChar(position + i * 2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the record offset for key, or -1 when it was never recorded
+	 */
+	public int find(CharSequence key) {
+		int hash = hash(key);
+		for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+			long entry = index.getLong(slot * 8);
+			if (entry == 0) {
+				return -1;
+			}
+			int record = (int)entry - 1;
+			if ((int)(entry >>> 32) == hash && matches(record, key)) {
+				return record;
+			}
+		}
+	}
+
+	private boolean matches(int record, CharSequence key) {
+		if (store.getChar(record + 4) != key.length()) {
+			return false;
+		}
+		for (int i = 0; i < key.length(); i++) {
+			if (store.getChar(record + 6 + i * 2) != key.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int statusOffset(int record) {
+		return record + 6 + store.getChar(record + 4) * 2;
+	}
+
+	public int status(int record) {
+		return store.getShort(statusOffset(record));
+	}
+
+	public String contentType(int record) {
+		int position = statusOffset(record) + 2;
+		byte[] type = new byte[store.getChar(position)];
+		ByteBuffer view = store.duplicate();
+		view.position(position + 2);
+		view.get(type);
+		return type.length == 0 ? null : new String(type, StandardCharsets.UTF_8);
+	}
+
+	//read-only view of the body inside the mapping
+	public ByteBuffer body(int record) {
+		int position = statusOffset(record) + 2;
+		position += 2 + store.getChar(position);
+		int length = store.getInt(position);
+		ByteBuffer view = store.duplicate();
+		view.position(position + 4);
+		view.limit(position + 4 + length);
+		return view.slice();
+	}
+
+	//distinct keys in the store
+	public int size() {
+		return size;
+	}
+
+	public long getMemoryBytes() {
+		return (long)store.capacity() + index.capacity();
+	}
+
+	@Override
+	public void close() {
+		//a mapping is released when it is collected, Java 8 has no supported way to unmap it sooner
+	}
+}
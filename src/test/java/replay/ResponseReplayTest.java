@@ -0,0 +1,156 @@
+package test.java.replay;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseReplayTest {
+
+	private Path file;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		file = Files.createTempFile("responses", ".bin");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Test
+	public void find_RecordedKeys_ReturnsStatusTypeAndBody() throws IOException {
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/?startDate=01/01/2019&numberOfDays=10", 200, "application/json", bytes("{\"totalCost\":\"$1.50\"}"));
+			recorder.record("/?startDate=01/01/2019&numberOfDays=0", 400, null, bytes("{\"error\":\"Invalid numberOfDays\"}"));
+		}
+		ResponseReplay replay = new ResponseReplay(file);
+		assertEquals(replay.size(), 2);
+		int ok = replay.find("/?startDate=01/01/2019&numberOfDays=10");
+		assertEquals(replay.status(ok), 200);
+		assertEquals(replay.contentType(ok), "application/json");
+		assertEquals(string(replay.body(ok)), "{\"totalCost\":\"$1.50\"}");
+		int error = replay.find("/?startDate=01/01/2019&numberOfDays=0");
+		assertEquals(replay.status(error), 400);
+		assertEquals(replay.contentType(error), null);
+		assertEquals(replay.find("/?startDate=01/01/2019&numberOfDays=1"), -1);
+	}
+
+	@Test
+	public void find_KeyRecordedTwice_LastWins() throws IOException {
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/a", 200, null, bytes("first"));
+		}
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/a", 200, null, bytes("second"));
+		}
+		ResponseReplay replay = new ResponseReplay(file);
+		assertEquals(replay.size(), 1);
+		assertEquals(string(replay.body(replay.find("/a"))), "second");
+	}
+
+	@Test
+	public void find_ManyKeys_AllFound() throws IOException {
+		int count = 100_000;
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			for (int i = 0; i < count; i++) {
+				recorder.record("/?n=" + i, 200, null, bytes(Integer.toString(i)));
+			}
+		}
+		ResponseReplay replay = new ResponseReplay(file);
+		assertEquals(replay.size(), count);
+		for (int i = 0; i < count; i++) {
+			assertEquals(string(replay.body(replay.find("/?n=" + i))), Integer.toString(i));
+		}
+	}
+
+	@Test
+	public void open_TornLastRecord_KeepsEarlierRecords() throws IOException {
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/a", 200, null, bytes("kept"));
+			recorder.record("/b", 200, null, bytes("torn"));
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 2);
+		}
+		ResponseReplay replay = new ResponseReplay(file);
+		assertEquals(replay.size(), 1);
+		assertEquals(string(replay.body(replay.find("/a"))), "kept");
+		assertEquals(replay.find("/b"), -1);
+	}
+
+	@Test
+	public void record_AfterTornLastRecord_LaterRecordsReadable() throws IOException {
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/a", 200, null, bytes("kept"));
+			recorder.record("/b", 200, null, bytes("torn"));
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 2);
+		}
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/c", 200, null, bytes("appended"));
+		}
+		ResponseReplay replay = new ResponseReplay(file);
+		assertEquals(replay.size(), 2);
+		assertEquals(string(replay.body(replay.find("/a"))), "kept");
+		assertEquals(replay.find("/b"), -1);
+		assertEquals(string(replay.body(replay.find("/c"))), "appended");
+	}
+
+	@Test
+	public void record_TornHeader_StartsOver() throws IOException {
+		Files.write(file, new byte[] {0x42, 0x42});
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/a", 200, null, bytes("first"));
+		}
+		ResponseReplay replay = new ResponseReplay(file);
+		assertEquals(string(replay.body(replay.find("/a"))), "first");
+	}
+
+	@Test
+	public void record_NotClosed_AlreadyOnDisk() throws IOException {
+		try (ResponseRecorder recorder = new ResponseRecorder(file)) {
+			recorder.record("/a", 200, null, bytes("flushed"));
+			ResponseReplay replay = new ResponseReplay(file);
+			assertEquals(string(replay.body(replay.find("/a"))), "flushed");
+		}
+	}
+
+	@Test
+	public void open_NotAStore_Throws() throws IOException {
+		Files.write(file, bytes("not a response store"));
+		assertThrows(IOException.class, () -> new ResponseReplay(file));
+		assertThrows(IOException.class, () -> new ResponseRecorder(file));
+		assertEquals(string(ByteBuffer.wrap(Files.readAllBytes(file))), "not a response store");
+	}
+
+	@Test
+	public void keyOf_IgnoresHostAndPort() {
+		assertEquals(ResponseRecorder.keyOf(URI.create("http://127.0.0.1:4711/?startDate=01/01/2019&numberOfDays=3")),
+				ResponseRecorder.keyOf(URI.create("https://bananabudget.azurewebsites.net/?startDate=01/01/2019&numberOfDays=3")));
+		assertTrue(ResponseRecorder.keyOf(URI.create("http://host/path")).equals("/path"));
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String string(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,176 @@
+package test.java.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import test.java.pricing.ReferenceModel;
+
+/**
+ * In-JVM stand-in for the budget API, answering with the same JSON bodies as the remote host.
+ */
+public class BudgetStubServer implements Closeable {
+
+	private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+	private static final int DEFAULT_THREADS = 16;
+
+	static {
+		//headers and body are written separately, with Nagle on every response waits for a delayed ack
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final AtomicInteger active = new AtomicInteger();
+	private volatile long latencyMillis;
+	private volatile int capacity;
+	private volatile BiFunction<String, String, ReferenceModel.Answer> model = ReferenceModel::answer;
+
+	private BudgetStubServer(HttpServer server, ExecutorService executor) {
+		this.server = server;
+		this.executor = executor;
+	}
+
+	public static BudgetStubServer start() throws IOException {
+		return start(0, DEFAULT_THREADS);
+	}
+
+	public static BudgetStubServer start(int port, int threads) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "budget-stub-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		BudgetStubServer stub = new BudgetStubServer(server, executor);
+		server.createContext("/", stub::handle);
+		server.setExecutor(executor);
+		server.start();
+		return stub;
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	public String getBaseUrl() {
+		return "http://" + server.getAddress().getHostString() + ":" + getPort() + "/?startDate=%s&numberOfDays=%s";
+	}
+
+	//artificial service time added to every response
+	public void setLatencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	//requests beyond this many in flight get a 503 at once, 0 for no limit
+	public void setCapacity(int capacity) {
+		this.capacity = capacity;
+	}
+
+	//answers (startDate, numberOfDays) with ReferenceModel unless a test needs an API that disagrees with it
+	public void setModel(BiFunction<String, String, ReferenceModel.Answer> model) {
+		this.model = model;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			while (in.read() != -1) {
+			}
+		}
+		String startDate = null;
+		String numberOfDays = null;
+		String query = exchange.getRequestURI().getRawQuery();
+		if (query != null) {
+			for (String param : query.split("&")) {
+				int eq = param.indexOf('=');
+				String name = eq < 0 ? param : param.substring(0, eq);
+				String value = eq < 0 ? "" : decode(param.substring(eq + 1));
+				if ("startDate".equals(name)) {
+					startDate = value;
+				} else if ("numberOfDays".equals(name)) {
+					numberOfDays = value;
+				}
+			}
+		}
+		Response response;
+		int inFlight = active.incrementAndGet();
+		try {
+			if (capacity > 0 && inFlight > capacity) {
+				response = new Response(503, "{\"error\":\"Service Unavailable\"}");
+			} else {
+				simulateLatency();
+				response = respond(model.apply(startDate, numberOfDays));
+			}
+		} finally {
+			active.decrementAndGet();
+		}
+		byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+		exchange.sendResponseHeaders(response.status, body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	private void simulateLatency() {
+		long millis = latencyMillis;
+		if (millis > 0) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	static Response respond(ReferenceModel.Answer answer) {
+		if (!answer.isOk()) {
+			return Response.error(answer.getError());
+		}
+		return new Response(answer.getStatus(),
+				"{\"totalCost\":\"$" + BigDecimal.valueOf(answer.getCostCents(), 2).toPlainString() + "\"}");
+	}
+
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, "UTF-8");
+		} catch (UnsupportedEncodingException | IllegalArgumentException e) {
+			return value;
+		}
+	}
+
+	static class Response {
+		final int status;
+		final String body;
+
+		Response(int status, String body) {
+			this.status = status;
+			this.body = body;
+		}
+
+		static Response error(String error) {
+			return new Response(400, "{\"error\":\"" + error + "\"}");
+		}
+	}
+}
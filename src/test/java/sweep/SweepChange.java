@@ -0,0 +1,53 @@
+package test.java.sweep;
+
+import java.time.LocalDate;
+
+//a cell whose answer differs between two sweeps
+public class SweepChange {
+	private final LocalDate startDate;
+	private final int numberOfDays;
+	private final int beforeStatus;
+	private final int beforeCostCents;
+	private final int afterStatus;
+	private final int afterCostCents;
+
+	public SweepChange(LocalDate startDate, int numberOfDays, int beforeStatus, int beforeCostCents, int afterStatus,
+			int afterCostCents) {
+		this.startDate = startDate;
+		this.numberOfDays = numberOfDays;
+		this.beforeStatus = beforeStatus;
+		this.beforeCostCents = beforeCostCents;
+		this.afterStatus = afterStatus;
+		this.afterCostCents = afterCostCents;
+	}
+
+	public LocalDate getStartDate() {
+		return startDate;
+	}
+
+	public int getNumberOfDays() {
+		return numberOfDays;
+	}
+
+	public int getBeforeStatus() {
+		return beforeStatus;
+	}
+
+	public int getBeforeCostCents() {
+		return beforeCostCents;
+	}
+
+	public int getAfterStatus() {
+		return afterStatus;
+	}
+
+	public int getAfterCostCents() {
+		return afterCostCents;
+	}
+
+	@Override
+	public String toString() {
+		return "SweepChange[startDate=" + startDate + ", numberOfDays=" + numberOfDays + ", before=" + beforeStatus + "/"
+				+ beforeCostCents + ", after=" + afterStatus + "/" + afterCostCents + "]";
+	}
+}
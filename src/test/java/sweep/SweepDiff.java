@@ -0,0 +1,70 @@
+package test.java.sweep;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Compares two sweeps of the same range cell by cell. Both columns are read a long at a time, four
+ * statuses and two costs per read, and only a block that differs is taken apart, so two matching
+ * sweeps are compared about as fast as the mappings page in. Only rows below both watermarks are
+ * compared. Run with -Dsweep.before=target/before.sweep -Dsweep.after=target/after.sweep -Dsweep.print=100
+ */
+public final class SweepDiff {
+
+	private SweepDiff() {
+	}
+
+	/**
+	 * @return how many cells changed, each of which is passed to changes in cell order
+	 */
+	public static long diff(SweepStore before, SweepStore after, Consumer<SweepChange> changes) {
+		if (!before.sameShape(after)) {
+			throw new IllegalArgumentException("Sweeps cover different ranges: " + before + ", " + after);
+		}
+		long cells = (long)Math.min(before.getWatermark(), after.getWatermark()) * before.getWidth();
+		int blocks = (int)((cells + 3) / 4);
+		long changed = 0;
+		for (int block = 0; block < blocks; block++) {
+			if (before.statusBlock(block) != after.statusBlock(block)
+					|| before.costPair(block * 2) != after.costPair(block * 2)
+					|| before.costPair(block * 2 + 1) != after.costPair(block * 2 + 1)) {
+				//the last block can run past the compared rows into cells that were never committed
+				int end = (int)Math.min(block * 4L + 4, cells);
+				for (int cell = block * 4; cell < end; cell++) {
+					if (before.status(cell) != after.status(cell) || before.costCents(cell) != after.costCents(cell)) {
+						changed++;
+						changes.accept(change(before, after, cell));
+					}
+				}
+			}
+		}
+		return changed;
+	}
+
+	private static SweepChange change(SweepStore before, SweepStore after, int cell) {
+		int row = cell / before.getWidth();
+		return new SweepChange(before.getDate(row), before.getMinNum() + cell % before.getWidth(), before.status(cell),
+				before.costCents(cell), after.status(cell), after.costCents(cell));
+	}
+
+	public static void main(String[] args) throws IOException {
+		Path beforeFile = Paths.get(System.getProperty("sweep.before", "target/before.sweep"));
+		Path afterFile = Paths.get(System.getProperty("sweep.after", "target/after.sweep"));
+		long print = Long.getLong("sweep.print", 100);
+		AtomicLong printed = new AtomicLong();
+		try (SweepStore before = SweepStore.open(beforeFile); SweepStore after = SweepStore.open(afterFile)) {
+			long started = System.nanoTime();
+			long changed = diff(before, after, change -> {
+				if (printed.getAndIncrement() < print) {
+					System.out.println(change);
+				}
+			});
+			System.out.printf("%d of %d compared cells changed in %.1f ms%n", changed,
+					(long)Math.min(before.getWatermark(), after.getWatermark()) * before.getWidth(),
+					(System.nanoTime() - started) / 1e6);
+		}
+	}
+}
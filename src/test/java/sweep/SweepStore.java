@@ -0,0 +1,218 @@
+package test.java.sweep;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Every answer of the budget API over a range of start dates times numberOfDays, stored as two
+ * memory-mapped columns: a short status and an int cost in cents per cell. Cells are laid out a row
+ * per start date, so a row is contiguous in both columns. The watermark counts the rows that are
+ * complete and forced to disk; anything after it is treated as never written, which is what makes
+ * a sweep resumable.
+ *
+ * <pre>
+ * header: int magic, int version, long firstEpochDay, int dates, short minNum, short maxNum, int watermark, int pad
+ * status: short[cells], padded to a multiple of 4 cells
+ * cost:   int[cells], padded the same way
+ * </pre>
+ */
+public class SweepStore implements Closeable {
+	static final int MAGIC = 0x42425357;
+	static final int VERSION = 1;
+	static final int HEADER_BYTES = 32;
+	private static final int WATERMARK_OFFSET = 24;
+	//a column has to fit one mapping
+	private static final long MAX_CELLS = Integer.MAX_VALUE / 4;
+
+	private final Path file;
+	private final long firstEpochDay;
+	private final int dates;
+	private final int minNum;
+	private final int maxNum;
+	private final int width;
+	private final int paddedCells;
+	private final MappedByteBuffer header;
+	private final MappedByteBuffer status;
+	private final MappedByteBuffer cost;
+
+	private SweepStore(Path file, FileChannel channel, long firstEpochDay, int dates, int minNum, int maxNum)
+			throws IOException {
+		this.file = file;
+		this.firstEpochDay = firstEpochDay;
+		this.dates = dates;
+		this.minNum = minNum;
+		this.maxNum = maxNum;
+		this.width = maxNum - minNum + 1;
+		this.paddedCells = paddedCells(dates, width);
+		header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+		status = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES, paddedCells * 2L);
+		cost = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + paddedCells * 2L, paddedCells * 4L);
+	}
+
+	public static SweepStore create(Path file, LocalDate firstDate, int dates, int minNum, int maxNum)
+			throws IOException {
+		if (dates <= 0 || minNum > maxNum || minNum < 0 || maxNum > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Invalid sweep shape: " + dates + " dates, numberOfDays " + minNum + ".." + maxNum);
+		}
+		if ((long)dates * (maxNum - minNum + 1) > MAX_CELLS) {
+			throw new IllegalArgumentException("Sweep of " + dates + " dates is too large for one store");
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			SweepStore store = new SweepStore(file, channel, firstDate.toEpochDay(), dates, minNum, maxNum);
+			store.header.putInt(0, MAGIC);
+			store.header.putInt(4, VERSION);
+			store.header.putLong(8, store.firstEpochDay);
+			store.header.putInt(16, dates);
+			store.header.putShort(20, (short)minNum);
+			store.header.putShort(22, (short)maxNum);
+			store.header.putInt(WATERMARK_OFFSET, 0);
+			store.header.force();
+			return store;
+		}
+	}
+
+	public static SweepStore open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			if (channel.size() < HEADER_BYTES) {
+				throw new IOException("Not a sweep store: " + file);
+			}
+			MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+			if (header.getInt(0) != MAGIC) {
+				throw new IOException("Not a sweep store: " + file);
+			}
+			if (header.getInt(4) != VERSION) {
+				throw new IOException("Unsupported sweep store version " + header.getInt(4) + ": " + file);
+			}
+			int dates = header.getInt(16);
+			int minNum = header.getShort(20);
+			int maxNum = header.getShort(22);
+			//mapping a store cut short for writing would silently grow it back with empty cells
+			if (channel.size() < HEADER_BYTES + paddedCells(dates, maxNum - minNum + 1) * 6L) {
+				throw new IOException("Sweep store is truncated: " + file);
+			}
+			return new SweepStore(file, channel, header.getLong(8), dates, minNum, maxNum);
+		}
+	}
+
+	private static int paddedCells(int dates, int width) {
+		return (int)((long)dates * width + 3 & ~3L);
+	}
+
+	//opens the store at file to resume it, or creates it when there is none yet
+	public static SweepStore openOrCreate(Path file, LocalDate firstDate, int dates, int minNum, int maxNum)
+			throws IOException {
+		if (!Files.exists(file)) {
+			return create(file, firstDate, dates, minNum, maxNum);
+		}
+		SweepStore store = open(file);
+		if (store.firstEpochDay != firstDate.toEpochDay() || store.dates != dates || store.minNum != minNum
+				|| store.maxNum != maxNum) {
+			throw new IllegalArgumentException("Sweep store " + file + " covers a different range: " + store);
+		}
+		return store;
+	}
+
+	public LocalDate getFirstDate() {
+		return LocalDate.ofEpochDay(firstEpochDay);
+	}
+
+	public LocalDate getDate(int row) {
+		return LocalDate.ofEpochDay(firstEpochDay + row);
+	}
+
+	public int getDates() {
+		return dates;
+	}
+
+	public int getMinNum() {
+		return minNum;
+	}
+
+	public int getMaxNum() {
+		return maxNum;
+	}
+
+	//cells per row
+	public int getWidth() {
+		return width;
+	}
+
+	public long getCells() {
+		return (long)dates * width;
+	}
+
+	//rows complete on disk
+	public int getWatermark() {
+		return header.getInt(WATERMARK_OFFSET);
+	}
+
+	public boolean isComplete() {
+		return getWatermark() == dates;
+	}
+
+	public int cell(int row, int numberOfDays) {
+		return row * width + numberOfDays - minNum;
+	}
+
+	public void put(int row, int numberOfDays, int statusCode, long costCents) {
+		int cell = cell(row, numberOfDays);
+		status.putShort(cell * 2, (short)statusCode);
+		cost.putInt(cell * 4, Math.toIntExact(costCents));
+	}
+
+	public int status(int cell) {
+		return status.getShort(cell * 2);
+	}
+
+	public int costCents(int cell) {
+		return cost.getInt(cell * 4);
+	}
+
+	//forces every row written so far and then moves the watermark past them
+	public void commit(int rows) {
+		if (rows < getWatermark() || rows > dates) {
+			throw new IllegalArgumentException("Watermark " + rows + " outside " + getWatermark() + ".." + dates);
+		}
+		status.force();
+		cost.force();
+		header.putInt(WATERMARK_OFFSET, rows);
+		header.force();
+	}
+
+	boolean sameShape(SweepStore other) {
+		return firstEpochDay == other.firstEpochDay && dates == other.dates && minNum == other.minNum
+				&& maxNum == other.maxNum;
+	}
+
+	//four statuses packed in one long, block is a cell index divided by four
+	long statusBlock(int block) {
+		return status.getLong(block * 8);
+	}
+
+	//two costs packed in one long, pair is a cell index divided by two
+	long costPair(int pair) {
+		return cost.getLong(pair * 8);
+	}
+
+	int getBlocks() {
+		return paddedCells / 4;
+	}
+
+	@Override
+	public void close() {
+		//rows after the watermark are discarded on resume anyway, and Java 8 has no supported way to unmap sooner
+	}
+
+	@Override
+	public String toString() {
+		return "SweepStore[file=" + file + ", firstDate=" + getFirstDate() + ", dates=" + dates + ", numberOfDays="
+				+ minNum + ".." + maxNum + ", watermark=" + getWatermark() + "]";
+	}
+}
@@ -0,0 +1,132 @@
+package test.java.sweep;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.client.Query;
+import test.java.fuzz.ClientTarget;
+import test.java.fuzz.Target;
+import test.java.pricing.BudgetRules;
+import test.java.pricing.ReferenceModel;
+
+/**
+ * Fills a {@link SweepStore} with the answers of a {@link Target}, a row of start dates at a time
+ * on several threads. The watermark is moved after every batch of rows, so a sweep that fails or is
+ * killed picks up from the last batch when it is run again against the same file.
+ * Run with -Dsweep.file=target/before.sweep -Dsweep.from=01/01/2019 -Dsweep.dates=3650 and
+ * -Dsweep.baseUrl=... to sweep a deployment, otherwise the reference model answers.
+ */
+public class Sweeper {
+	private final Target target;
+	private final int threads;
+	private final int rowsPerCommit;
+
+	public Sweeper(Target target, int threads, int rowsPerCommit) {
+		if (threads <= 0 || rowsPerCommit <= 0) {
+			throw new IllegalArgumentException("threads and rowsPerCommit must be positive");
+		}
+		this.target = target;
+		this.threads = threads;
+		this.rowsPerCommit = rowsPerCommit;
+	}
+
+	//answers straight from the reference model, with no server in between
+	public static Target reference() {
+		return query -> ReferenceModel.answer(query.getStartDate(), query.getNumberOfDays());
+	}
+
+	/**
+	 * Sweeps every row from the store's watermark to the end. A failing row stops the sweep with the
+	 * target's exception once the rows already running have finished; rows before it stay committed.
+	 *
+	 * @return rows swept by this call
+	 */
+	public int sweep(SweepStore store) throws InterruptedException {
+		int from = store.getWatermark();
+		AtomicInteger count = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "sweep-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			for (int batch = from; batch < store.getDates(); batch += rowsPerCommit) {
+				int end = Math.min(batch + rowsPerCommit, store.getDates());
+				List<Callable<Void>> rows = new ArrayList<>(end - batch);
+				for (int row = batch; row < end; row++) {
+					int r = row;
+					rows.add(() -> {
+						sweepRow(store, r);
+						return null;
+					});
+				}
+				for (Future<Void> future : executor.invokeAll(rows)) {
+					await(future);
+				}
+				store.commit(end);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return store.getDates() - from;
+	}
+
+	private void sweepRow(SweepStore store, int row) {
+		LocalDate date = store.getDate(row);
+		String startDate = String.format("%02d/%02d/%04d", date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+		for (int days = store.getMinNum(); days <= store.getMaxNum(); days++) {
+			ReferenceModel.Answer answer = target.answer(Query.of(startDate, days));
+			store.put(row, days, answer.getStatus(), answer.getCostCents());
+		}
+	}
+
+	private static void await(Future<Void> future) throws InterruptedException {
+		try {
+			future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		Path file = Paths.get(System.getProperty("sweep.file", "target/budget.sweep"));
+		LocalDate from = BudgetRules.parseStartDate(System.getProperty("sweep.from", "01/01/2019"));
+		if (from == null) {
+			throw new IllegalArgumentException("Invalid sweep.from: " + System.getProperty("sweep.from"));
+		}
+		int dates = Integer.getInteger("sweep.dates", 365);
+		int threads = Integer.getInteger("sweep.threads", 16);
+		int rowsPerCommit = Integer.getInteger("sweep.rowsPerCommit", 64);
+		String baseUrl = System.getProperty("sweep.baseUrl");
+		try (SweepStore store = SweepStore.openOrCreate(file, from, dates, BudgetRules.MIN_NUM, BudgetRules.MAX_NUM)) {
+			long started = System.nanoTime();
+			int swept;
+			if (baseUrl == null) {
+				swept = new Sweeper(reference(), threads, rowsPerCommit).sweep(store);
+			} else {
+				ClientConfig config = new ClientConfig();
+				config.setMaxTotalConnections(threads);
+				config.setMaxConnectionsPerRoute(threads);
+				try (Client client = new Client(config)) {
+					swept = new Sweeper(new ClientTarget(client, baseUrl), threads, rowsPerCommit).sweep(store);
+				}
+			}
+			System.out.printf("Swept %d rows (%d cells) in %.1f s: %s%n", swept, (long)swept * store.getWidth(),
+					(System.nanoTime() - started) / 1e9, store);
+		}
+	}
+}
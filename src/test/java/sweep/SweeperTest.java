@@ -0,0 +1,168 @@
+package test.java.sweep;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import test.java.client.Client;
+import test.java.client.ClientConfig;
+import test.java.fuzz.ClientTarget;
+import test.java.fuzz.Target;
+import test.java.pricing.BananaBudgetCalculator;
+import test.java.pricing.BudgetRules;
+import test.java.pricing.ReferenceModel;
+import test.java.server.BudgetStubServer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SweeperTest {
+
+	private static final LocalDate FIRST_DATE = LocalDate.of(2019, 12, 20);
+	private static final int DATES = 30;
+
+	private Path dir;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("sweep");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : (Iterable<Path>)files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(dir);
+	}
+
+	@Test
+	public void sweep_Reference_StoresEveryCell() throws IOException, InterruptedException {
+		try (SweepStore store = create("all.sweep")) {
+			assertEquals(new Sweeper(Sweeper.reference(), 4, 7).sweep(store), DATES);
+			assertTrue(store.isComplete());
+		}
+		try (SweepStore store = SweepStore.open(dir.resolve("all.sweep"))) {
+			assertEquals(store.getWatermark(), DATES);
+			for (int row = 0; row < DATES; row++) {
+				for (int days = BudgetRules.MIN_NUM; days <= BudgetRules.MAX_NUM; days++) {
+					int cell = store.cell(row, days);
+					assertEquals(store.status(cell), ReferenceModel.Answer.OK);
+					assertEquals(store.costCents(cell), BananaBudgetCalculator.totalCostCents(FIRST_DATE.plusDays(row), days));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void sweep_FailedPart_ResumesFromWatermark() throws IOException, InterruptedException {
+		AtomicBoolean failing = new AtomicBoolean(true);
+		List<LocalDate> asked = new ArrayList<>();
+		Target flaky = query -> {
+			LocalDate date = BudgetRules.parseStartDate(query.getStartDate());
+			if (failing.get() && date.equals(FIRST_DATE.plusDays(12))) {
+				throw new IllegalStateException("connection reset");
+			}
+			if ("1".equals(query.getNumberOfDays())) {
+				synchronized (asked) {
+					asked.add(date);
+				}
+			}
+			return Sweeper.reference().answer(query);
+		};
+		try (SweepStore store = create("resume.sweep")) {
+			assertThrows(IllegalStateException.class, () -> new Sweeper(flaky, 1, 5).sweep(store));
+			assertEquals(store.getWatermark(), 10);
+		}
+		failing.set(false);
+		asked.clear();
+		try (SweepStore store = SweepStore.openOrCreate(dir.resolve("resume.sweep"), FIRST_DATE, DATES,
+				BudgetRules.MIN_NUM, BudgetRules.MAX_NUM)) {
+			assertEquals(new Sweeper(flaky, 2, 5).sweep(store), DATES - 10);
+			assertTrue(store.isComplete());
+			assertEquals(asked.size(), DATES - 10);
+			assertTrue(asked.stream().allMatch(date -> !date.isBefore(FIRST_DATE.plusDays(10))));
+		}
+	}
+
+	@Test
+	public void diff_ChangedCells_ReportsOnlyThose() throws IOException, InterruptedException {
+		LocalDate changedDate = FIRST_DATE.plusDays(17);
+		Target changed = query -> {
+			ReferenceModel.Answer answer = Sweeper.reference().answer(query);
+			if (BudgetRules.parseStartDate(query.getStartDate()).equals(changedDate) && "100".equals(query.getNumberOfDays())) {
+				return new ReferenceModel.Answer(answer.getStatus(), null, answer.getCostCents() + 1);
+			}
+			if ("365".equals(query.getNumberOfDays())) {
+				return ReferenceModel.Answer.error(BudgetRules.INVALID_NUM_DAYS);
+			}
+			return answer;
+		};
+		try (SweepStore before = create("before.sweep"); SweepStore after = create("after.sweep")) {
+			new Sweeper(Sweeper.reference(), 2, 8).sweep(before);
+			new Sweeper(changed, 2, 8).sweep(after);
+			assertEquals(SweepDiff.diff(before, before, change -> {
+			}), 0L);
+
+			List<SweepChange> changes = new ArrayList<>();
+			assertEquals(SweepDiff.diff(before, after, changes::add), DATES + 1L);
+			SweepChange cost = changes.stream().filter(c -> c.getNumberOfDays() == 100).findFirst().get();
+			assertEquals(cost.getStartDate(), changedDate);
+			assertEquals(cost.getAfterCostCents(), cost.getBeforeCostCents() + 1);
+			assertTrue(changes.stream().filter(c -> c.getNumberOfDays() == 365)
+					.allMatch(c -> c.getBeforeStatus() == 200 && c.getAfterStatus() == 400 && c.getAfterCostCents() == 0));
+		}
+	}
+
+	@Test
+	public void diff_PartialSweep_ComparesCommittedRowsOnly() throws IOException, InterruptedException {
+		try (SweepStore before = create("before.sweep"); SweepStore after = create("after.sweep")) {
+			new Sweeper(Sweeper.reference(), 1, 10).sweep(before);
+			Target wrongAfterRow3 = query -> {
+				if (BudgetRules.parseStartDate(query.getStartDate()).isAfter(FIRST_DATE.plusDays(3))) {
+					throw new IllegalStateException("stopped");
+				}
+				return new ReferenceModel.Answer(503, null, 0);
+			};
+			assertThrows(IllegalStateException.class, () -> new Sweeper(wrongAfterRow3, 1, 2).sweep(after));
+			assertEquals(after.getWatermark(), 4);
+			assertEquals(SweepDiff.diff(before, after, change -> {
+			}), 4L * after.getWidth());
+		}
+	}
+
+	@Test
+	public void openOrCreate_DifferentRange_Throws() throws IOException {
+		create("range.sweep").close();
+		assertThrows(IllegalArgumentException.class, () -> SweepStore.openOrCreate(dir.resolve("range.sweep"),
+				FIRST_DATE.plusDays(1), DATES, BudgetRules.MIN_NUM, BudgetRules.MAX_NUM));
+	}
+
+	@Test
+	public void sweep_Client_MatchesReference() throws IOException, InterruptedException {
+		try (BudgetStubServer server = BudgetStubServer.start();
+				Client client = new Client(new ClientConfig());
+				SweepStore viaClient = SweepStore.create(dir.resolve("client.sweep"), FIRST_DATE, 3, 1, 20);
+				SweepStore reference = SweepStore.create(dir.resolve("reference.sweep"), FIRST_DATE, 3, 1, 20)) {
+			new Sweeper(new ClientTarget(client, server.getBaseUrl()), 2, 1).sweep(viaClient);
+			new Sweeper(Sweeper.reference(), 1, 3).sweep(reference);
+			assertEquals(SweepDiff.diff(reference, viaClient, change -> {
+			}), 0L);
+			assertTrue(viaClient.isComplete());
+		}
+	}
+
+	private SweepStore create(String name) throws IOException {
+		return SweepStore.create(dir.resolve(name), FIRST_DATE, DATES, BudgetRules.MIN_NUM, BudgetRules.MAX_NUM);
+	}
+}